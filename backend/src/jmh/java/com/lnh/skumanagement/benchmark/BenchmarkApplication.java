@@ -0,0 +1,109 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.LnhSkuManagementApplication;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.service.cache.SkuCategoryCache;
+import com.lnh.skumanagement.service.impl.SkuStatsServiceImpl;
+import com.lnh.skumanagement.service.search.SkuSearchIndexLoader;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Starts the service without a web server against a private in-memory H2 database.
+ */
+final class BenchmarkApplication {
+
+    private static final String INSERT_SQL = "INSERT INTO skus (sku_code, product_name, style_name, colour, "
+            + "description, quantity, price, category, supplier, size, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return builder(databaseName).web(WebApplicationType.NONE).run();
+    }
+
+    static ConfigurableApplicationContext start(
+            String databaseName,
+            ApplicationContextInitializer<ConfigurableApplicationContext> initializer) {
+        return builder(databaseName).web(WebApplicationType.NONE).initializers(initializer).run();
+    }
+
+    /**
+     * Starts the service with its embedded web server and actuator on random ports, authentication off.
+     * {@code properties} are passed as command-line arguments so they override application.yml.
+     */
+    static ConfigurableApplicationContext startServer(
+            String databaseName,
+            ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+            String... properties) {
+        String[] args = new String[properties.length + 3];
+        args[0] = "--server.port=0";
+        args[1] = "--management.server.port=0";
+        args[2] = "--app.lnh.auth.required=false";
+        for (int i = 0; i < properties.length; i++) {
+            args[i + 3] = "--" + properties[i];
+        }
+        return builder(databaseName)
+                .web(WebApplicationType.SERVLET)
+                .initializers(initializer)
+                .run(args);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+    }
+
+    private static SpringApplicationBuilder builder(String databaseName) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(LnhSkuManagementApplication.class)
+                .properties(
+                        "app.lnh.db.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "app.lnh.db.username=sa",
+                        "app.lnh.db.password=",
+                        "app.lnh.db.driver-class-name=org.h2.Driver",
+                        "app.lnh.db.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // Benchmarks trigger reloads explicitly after seeding
+                        "app.lnh.search.rebuild-interval-ms=86400000",
+                        "app.lnh.stats.reload-interval-ms=86400000");
+    }
+
+    /**
+     * Inserts {@code rows} fixture SKUs and reloads every in-memory view of the table.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int batchSize = 5000;
+        for (int from = 0; from < rows; from += batchSize) {
+            List<Sku> batch = SkuFixtures.skus(from, Math.min(batchSize, rows - from));
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, sku) -> {
+                ps.setString(1, sku.getSkuCode());
+                ps.setString(2, sku.getName());
+                ps.setString(3, sku.getStyleName());
+                ps.setString(4, sku.getColour());
+                ps.setString(5, sku.getDescription());
+                ps.setInt(6, sku.getQuantity());
+                ps.setDouble(7, sku.getPrice());
+                ps.setString(8, sku.getCategory());
+                ps.setString(9, sku.getSupplier());
+                ps.setString(10, sku.getSize());
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+            });
+        }
+        context.getBean(SkuSearchIndexLoader.class).rebuild();
+        context.getBean(SkuStatsServiceImpl.class).reload();
+        context.getBean(SkuCategoryCache.class).reload();
+    }
+}
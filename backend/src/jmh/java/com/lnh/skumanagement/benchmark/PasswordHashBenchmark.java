@@ -0,0 +1,61 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.service.auth.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PBKDF2 login hashing through {@link PasswordHasher}, against the previous approach of creating a
+ * {@link SecretKeyFactory} on the calling thread for every hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PasswordHashBenchmark {
+
+    private PasswordHasher passwordHasher;
+    private byte[] salt;
+
+    @Setup
+    public void setUp() {
+        passwordHasher = new PasswordHasher(new SimpleMeterRegistry(), 4, 1000);
+        salt = passwordHasher.generateSalt();
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public String hashOnPool() {
+        return passwordHasher.hash("correct horse battery staple", salt).join();
+    }
+
+    @Benchmark
+    public String hashOnCallerWithNewFactory() throws Exception {
+        PBEKeySpec spec = new PBEKeySpec("correct horse battery staple".toCharArray(), salt, 10000, 256);
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        return Base64.getEncoder().encodeToString(factory.generateSecret(spec).getEncoded());
+    }
+}
@@ -0,0 +1,146 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.lnh.skumanagement.config.ColumnarSkuHttpMessageConverter;
+import com.lnh.skumanagement.config.EncodingConfig;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time and size of a 10k SKU list in each response encoding, through the same message
+ * converters the controllers use. {@code gzip=true} adds Tomcat's compression (default deflate level)
+ * on top. The response size of each combination is appended to {@value #SIZES_FILE}, one
+ * {@code format,gzip,rows,bytes} line per trial:
+ * <pre>
+ *     mvn -Pjmh test-compile exec:exec -Djmh.args="SkuEncodingBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkuEncodingBenchmark {
+
+    static final String SIZES_FILE = "target/jmh-sku-encoding-sizes.csv";
+
+    private static final Type SKU_LIST = new ParameterizedTypeReference<List<Sku>>() {
+    }.getType();
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"json", "columnar", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private List<Sku> skus;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the Spring Boot mapper the controllers use
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(objectMapper);
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "columnar" -> {
+                converter = new ColumnarSkuHttpMessageConverter(objectMapper);
+                mediaType = ColumnarSkuHttpMessageConverter.COLUMNAR_JSON;
+            }
+            case "smile" -> {
+                converter = new MappingJackson2SmileHttpMessageConverter(SmileMapper.builder(EncodingConfig.smileFactory())
+                        .findAndAddModules()
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build());
+                mediaType = new MediaType("application", "x-jackson-smile");
+            }
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+        skus = new SkuEntityMapperImpl().toSkuList(SkuFixtures.entities(rows));
+    }
+
+    /**
+     * Sizes are deterministic, so one measurement per trial is enough; each trial runs in its own fork,
+     * hence appending.
+     */
+    @TearDown(Level.Trial)
+    public void recordSize() throws IOException {
+        Path file = Path.of(SIZES_FILE);
+        Files.createDirectories(file.getParent());
+        String header = Files.exists(file) ? "" : "format,gzip,rows,bytes\n";
+        Files.writeString(file, header + format + "," + gzip + "," + rows + "," + serializeList().length + "\n",
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+        if (gzip) {
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(buffer, 8192)) {
+                write(gzipStream);
+            }
+        } else {
+            write(buffer);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void write(OutputStream body) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        converter.write(skus, SKU_LIST, mediaType, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+    }
+}
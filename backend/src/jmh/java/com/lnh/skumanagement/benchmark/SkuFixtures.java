@@ -0,0 +1,74 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic SKU data: the same index always yields the same row.
+ */
+final class SkuFixtures {
+
+    private static final String[] CATEGORIES = {"Bed Linen", "Bath Linen", "Table Linen", "Cushions", "Throws", "Curtains"};
+    private static final String[] STYLES = {"Havens Classic", "Coastal Stripe", "Stonewashed", "Herringbone", "Waffle Weave"};
+    private static final String[] COLOURS = {"White", "Ivory", "Sage", "Navy", "Charcoal", "Blush", "Sand"};
+    private static final String[] SIZES = {"S", "M", "L", "XL", "Single", "Double", "King"};
+    private static final String[] SUPPLIERS = {"Coimbatore Mills", "Panipat Weavers", "Karur Textiles", "Erode Looms"};
+
+    private SkuFixtures() {
+    }
+
+    static Sku sku(int i) {
+        Sku sku = new Sku();
+        sku.setSkuCode(skuCode(i));
+        sku.setName(STYLES[i % STYLES.length] + " " + CATEGORIES[i % CATEGORIES.length] + " " + i);
+        sku.setStyleName(STYLES[i % STYLES.length]);
+        sku.setColour(COLOURS[i % COLOURS.length]);
+        sku.setDescription("Pure linen " + CATEGORIES[i % CATEGORIES.length].toLowerCase() + ", batch " + (i / 1000));
+        sku.setQuantity((i * 37) % 500);
+        sku.setPrice(199.0 + (i % 4000));
+        sku.setCategory(CATEGORIES[i % CATEGORIES.length]);
+        sku.setSupplier(SUPPLIERS[i % SUPPLIERS.length]);
+        sku.setSize(SIZES[i % SIZES.length]);
+        return sku;
+    }
+
+    static String skuCode(int i) {
+        return String.format("LNH-%07d", i);
+    }
+
+    static List<Sku> skus(int from, int count) {
+        List<Sku> skus = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            skus.add(sku(i));
+        }
+        return skus;
+    }
+
+    static List<SkuEntity> entities(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SkuEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Sku sku = sku(i);
+            SkuEntity entity = new SkuEntity();
+            entity.setId((long) i + 1);
+            entity.setSkuCode(sku.getSkuCode());
+            entity.setName(sku.getName());
+            entity.setStyleName(sku.getStyleName());
+            entity.setColour(sku.getColour());
+            entity.setDescription(sku.getDescription());
+            entity.setQuantity(sku.getQuantity());
+            entity.setPrice(sku.getPrice());
+            entity.setCategory(sku.getCategory());
+            entity.setSupplier(sku.getSupplier());
+            entity.setSize(sku.getSize());
+            entity.setCreatedAt(now);
+            entity.setUpdatedAt(now);
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
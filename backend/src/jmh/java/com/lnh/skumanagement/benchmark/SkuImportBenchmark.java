@@ -0,0 +1,84 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuImportResult;
+import com.lnh.skumanagement.service.SkuImportService;
+import com.lnh.skumanagement.service.SkuService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load {@code rows} new SKUs through the bulk import against one {@code createSku} call per row.
+ * <p>
+ * In-memory H2 has no network round trip and no commit flush, so at {@code dbLatencyMs=0} both paths
+ * spend their time on the same in-memory work (validation, index and cache updates) and come out close.
+ * {@code dbLatencyMs=1} delays every statement like a database on the same network; the per-row path
+ * pays it for each of its statements, the bulk path once per batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SkuImportBenchmark {
+
+    @Param({"5000"})
+    public int rows;
+
+    @Param({"0", "1"})
+    public int dbLatencyMs;
+
+    private ConfigurableApplicationContext context;
+    private SkuService skuService;
+    private SkuImportService skuImportService;
+    private int nextIndex;
+    private List<Sku> skus;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("import", SlowDataSource.initializer(dbLatencyMs));
+        BenchmarkApplication.seed(context, 0);
+        skuService = context.getBean(SkuService.class);
+        skuImportService = context.getBean(SkuImportService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareRows() {
+        skus = SkuFixtures.skus(nextIndex, rows);
+        nextIndex += rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SkuImportResult bulkImport() {
+        return skuImportService.importSkus(skus);
+    }
+
+    @Benchmark
+    public int createSkuPerRow() {
+        for (Sku sku : skus) {
+            skuService.createSku(sku);
+        }
+        return skus.size();
+    }
+}
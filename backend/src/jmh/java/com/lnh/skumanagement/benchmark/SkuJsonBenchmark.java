@@ -0,0 +1,51 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkuJsonBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Sku> skus;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the Spring Boot mapper the controllers use
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        skus = new SkuEntityMapperImpl().toSkuList(SkuFixtures.entities(rows));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(skus);
+    }
+}
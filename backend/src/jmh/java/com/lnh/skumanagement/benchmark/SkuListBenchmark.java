@@ -0,0 +1,69 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuPage;
+import com.lnh.skumanagement.service.SkuService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List paths of {@link SkuService} against an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SkuListBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private SkuService skuService;
+    private long middleId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("list");
+        BenchmarkApplication.seed(context, rows);
+        skuService = context.getBean(SkuService.class);
+        middleId = rows / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Sku> findAll() {
+        return skuService.getAllSkus();
+    }
+
+    @Benchmark
+    public SkuPage keysetPage() {
+        return skuService.getSkuPage(middleId, 100);
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole blackhole) {
+        skuService.streamAllSkus(blackhole::consume);
+    }
+}
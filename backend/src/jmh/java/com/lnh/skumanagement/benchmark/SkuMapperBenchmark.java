@@ -0,0 +1,45 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapper;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkuMapperBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private final SkuEntityMapper skuEntityMapper = new SkuEntityMapperImpl();
+    private List<SkuEntity> entities;
+
+    @Setup
+    public void setUp() {
+        entities = SkuFixtures.entities(rows);
+    }
+
+    @Benchmark
+    public List<Sku> toSkuList() {
+        return skuEntityMapper.toSkuList(entities);
+    }
+}
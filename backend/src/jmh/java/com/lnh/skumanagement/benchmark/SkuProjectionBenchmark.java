@@ -0,0 +1,78 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapper;
+import com.lnh.skumanagement.service.SkuService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-list loading: managed entities copied by the mapper in a read-write transaction, against
+ * DTO projections and sparse fieldsets. Run with {@code -prof gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SkuProjectionBenchmark {
+
+    private static final List<String> TABLE_FIELDS = List.of("id", "skuCode", "name", "quantity", "price");
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private SkuService skuService;
+    private SkuRepository skuRepository;
+    private SkuEntityMapper skuEntityMapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("projection");
+        BenchmarkApplication.seed(context, rows);
+        skuService = context.getBean(SkuService.class);
+        skuRepository = context.getBean(SkuRepository.class);
+        skuEntityMapper = context.getBean(SkuEntityMapper.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Sku> entitiesAndMapper() {
+        return transactionTemplate.execute(status -> skuEntityMapper.toSkuList(skuRepository.findAll()));
+    }
+
+    @Benchmark
+    public List<Sku> projection() {
+        return skuService.getAllSkus();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sparseFields() {
+        return skuService.getAllSkus(TABLE_FIELDS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+import com.lnh.skumanagement.service.SkuService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indexed search through {@link SkuService} against the previous JPQL {@code LIKE '%term%'} query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SkuSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    /**
+     * A selective code fragment, a common word and a two-letter prefix that cannot use trigrams.
+     */
+    @Param({"0012345", "stripe", "sa"})
+    public String term;
+
+    private ConfigurableApplicationContext context;
+    private SkuService skuService;
+    private SkuRepository skuRepository;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("search");
+        BenchmarkApplication.seed(context, rows);
+        skuService = context.getBean(SkuService.class);
+        skuRepository = context.getBean(SkuRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Sku> index() {
+        return skuService.searchSkus(term, 0, 50);
+    }
+
+    @Benchmark
+    public List<SkuEntity> jpqlLike() {
+        return skuRepository.searchSkus(term, PageRequest.of(0, 50));
+    }
+}
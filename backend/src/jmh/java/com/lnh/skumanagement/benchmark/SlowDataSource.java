@@ -0,0 +1,70 @@
+package com.lnh.skumanagement.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Delays every statement execution by a fixed time while the connection is held, standing in for a
+ * database that is further away or busier than in-memory H2.
+ */
+final class SlowDataSource extends DelegatingDataSource {
+
+    private final long latencyMs;
+
+    private SlowDataSource(DataSource target, long latencyMs) {
+        super(target);
+        this.latencyMs = latencyMs;
+    }
+
+    /**
+     * Wraps the application's data source as it is created.
+     */
+    static ApplicationContextInitializer<ConfigurableApplicationContext> initializer(long latencyMs) {
+        return context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SlowDataSource)
+                        ? new SlowDataSource(dataSource, latencyMs)
+                        : bean;
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Thread.sleep(latencyMs);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy((Class<Object>) method.getReturnType(), result);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.util.SmartCapitalize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalizing the five capitalized columns of an import batch, row by row against the import's
+ * column-by-column approach.
+ * Input is lower-cased fixture data, so every value needs work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmartCapitalizeBatchBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private final SmartCapitalize smartCapitalize = new SmartCapitalize();
+    private List<Sku> skus;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        skus = SkuFixtures.skus(0, rows);
+        for (Sku sku : skus) {
+            sku.setCategory(sku.getCategory().toLowerCase(Locale.ROOT));
+            sku.setName(sku.getName().toLowerCase(Locale.ROOT));
+            sku.setColour(sku.getColour().toLowerCase(Locale.ROOT));
+            sku.setStyleName(sku.getStyleName().toLowerCase(Locale.ROOT));
+            sku.setSize(sku.getSize().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Benchmark
+    public List<Sku> perRow() {
+        for (Sku sku : skus) {
+            sku.setCategory(smartCapitalize.smartCapitalize(sku.getCategory()));
+            sku.setName(smartCapitalize.smartCapitalize(sku.getName()));
+            sku.setColour(smartCapitalize.smartCapitalize(sku.getColour()));
+            sku.setStyleName(smartCapitalize.smartCapitalize(sku.getStyleName()));
+            sku.setSize(smartCapitalize.smartCapitalize(sku.getSize()));
+        }
+        return skus;
+    }
+
+    @Benchmark
+    public List<Sku> perColumn() {
+        for (Sku sku : skus) {
+            sku.setName(smartCapitalize.smartCapitalize(sku.getName()));
+        }
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getCategory, Sku::setCategory);
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getColour, Sku::setColour);
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getStyleName, Sku::setStyleName);
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getSize, Sku::setSize);
+        return skus;
+    }
+}
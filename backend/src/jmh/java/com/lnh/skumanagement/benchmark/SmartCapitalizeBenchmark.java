@@ -0,0 +1,52 @@
+package com.lnh.skumanagement.benchmark;
+
+import com.lnh.skumanagement.util.SmartCapitalize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmartCapitalizeBenchmark {
+
+    @Param({"Bed Linen", "bed linen", "  HAVENS   classic  stripe ", "XL"})
+    public String input;
+
+    private final SmartCapitalize smartCapitalize = new SmartCapitalize();
+
+    @Benchmark
+    public String smartCapitalize() {
+        return smartCapitalize.smartCapitalize(input);
+    }
+
+    /**
+     * The original split-and-concatenate implementation, kept as the baseline.
+     */
+    @Benchmark
+    public String regexSplit() {
+        if (input == null || input.trim().isEmpty()) {
+            return input;
+        }
+        String[] words = input.trim().split("\\s+");
+        StringBuilder result = new StringBuilder();
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                result.append(word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase()).append(" ");
+            }
+        }
+        return result.toString().trim();
+    }
+}
@@ -0,0 +1,105 @@
+package com.lnh.skumanagement.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed HTTP load with Tomcat on platform threads versus virtual threads. Most clients call a
+ * database-bound endpoint whose statements each take {@code dbLatencyMs}; a few call the category
+ * list, which is served from memory. On platform threads a request waiting for a pooled connection
+ * still holds one of Tomcat's 200 workers, so once they are all taken the in-memory requests queue too.
+ * <p>
+ * {@code virtualThreads=true} needs a Java 21 JVM. Throughput and p99 per endpoint come from
+ * <pre>
+ *     mvn -Pjmh test-compile exec:exec -Djmh.args="VirtualThreadLoadBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class VirtualThreadLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"100"})
+    public int dbLatencyMs;
+
+    /**
+     * Connections in the pool; above Tomcat's worker count the workers become the limit on platform threads.
+     */
+    @Param({"10", "300"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest pageRequest;
+    private HttpRequest categoriesRequest;
+
+    @Setup
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtualThreads=true needs a Java 21 JVM, not " + Runtime.version());
+        }
+        context = BenchmarkApplication.startServer("load", SlowDataSource.initializer(dbLatencyMs),
+                "app.lnh.server.virtual-threads=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.minimum-idle=" + poolSize);
+        BenchmarkApplication.seed(context, 10_000);
+
+        String baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        pageRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/skus/page?after=5000&limit=20")).build();
+        categoriesRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/skus/categories")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(250)
+    public int databaseBound() throws IOException, InterruptedException {
+        return send(pageRequest);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(20)
+    public int inMemory() throws IOException, InterruptedException {
+        return send(categoriesRequest);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + status);
+        }
+        return status;
+    }
+}
@@ -2,8 +2,10 @@ package com.lnh.skumanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LnhSkuManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(LnhSkuManagementApplication.class, args);
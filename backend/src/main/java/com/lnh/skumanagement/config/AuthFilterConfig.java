@@ -0,0 +1,24 @@
+package com.lnh.skumanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lnh.skumanagement.service.auth.TokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class AuthFilterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.lnh.auth.required", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(TokenService tokenService,
+                                                                                       ObjectMapper objectMapper) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new TokenAuthenticationFilter(tokenService, objectMapper));
+        registration.addUrlPatterns("/api/skus", "/api/skus/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,104 @@
+package com.lnh.skumanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most {@code permits} open connections at a time, first come first served.
+ * <p>
+ * Without it, every virtual thread waits inside the connection pool, where newly arriving
+ * borrowers can take a returned connection ahead of those already waiting. Under sustained load
+ * some requests then wait out the pool's whole connection timeout while others get through at once.
+ * Each pool needs its own bound, sized to that pool: see {@link #forPool}.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    /**
+     * Hikari's size when none is configured; it only fills this in when the pool starts.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public BoundedDataSource(DataSource target, int permits, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Admits as many connections as {@code pool} holds, waiting no longer than its connection timeout.
+     */
+    public static BoundedDataSource forPool(HikariDataSource pool) {
+        int size = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        return new BoundedDataSource(pool, size, Duration.ofMillis(pool.getConnectionTimeout()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + timeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
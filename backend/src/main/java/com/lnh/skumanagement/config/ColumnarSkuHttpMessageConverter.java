@@ -0,0 +1,148 @@
+package com.lnh.skumanagement.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuPage;
+import com.lnh.skumanagement.model.SkuQueryPage;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes SKU lists and pages as {@code {"fields": [...], "rows": [[...], ...], "nextCursor": ...}}: the
+ * property names are sent once instead of once per SKU, and each row holds the values in {@code fields}
+ * order. Only used when the client asks for {@link #COLUMNAR_JSON} explicitly; {@code *}{@code /*} and
+ * {@code application/json} keep getting the regular object form.
+ */
+public class ColumnarSkuHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType("application/vnd.lnh.columnar+json");
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final List<String> fields;
+
+    public ColumnarSkuHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON);
+        // Same mapper (dates, modules) as the object form, but each Sku becomes an array of its values
+        this.objectMapper = objectMapper.copy().addMixIn(Sku.class, SkuRowMixin.class);
+        this.rowWriter = this.objectMapper.writerFor(Sku.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fields = fieldNames(this.objectMapper);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SkuPage.class == clazz || SkuQueryPage.class == clazz || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (Collection.class.isAssignableFrom(clazz)) {
+            // Only collections declared as holding SKUs, e.g. ResponseEntity<List<Sku>>
+            Class<?> element = ResolvableType.forType(type != null ? type : clazz).asCollection().resolveGeneric();
+            if (element != Sku.class) {
+                return false;
+            }
+        }
+        return canWrite(clazz, mediaType);
+    }
+
+    /**
+     * Never a candidate for {@code *}{@code /*} or a null (any) media type, so content negotiation only
+     * picks it when the client names it. The JSON converter in {@link EncodingConfig} declines it in turn,
+     * so only SKU lists and pages are ever written with this type.
+     */
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && mediaType.isConcrete() && COLUMNAR_JSON.isCompatibleWith(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeFieldName("fields");
+            generator.writeStartArray();
+            for (String field : fields) {
+                generator.writeString(field);
+            }
+            generator.writeEndArray();
+            if (object instanceof SkuPage page) {
+                writeRows(generator, page.getItems());
+                generator.writeObjectField("nextCursor", page.getNextCursor());
+            } else if (object instanceof SkuQueryPage page) {
+                writeRows(generator, page.getItems());
+                generator.writeObjectField("nextCursor", page.getNextCursor());
+            } else {
+                writeRows(generator, (Collection<?>) object);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The columnar form is write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The columnar form is write-only", inputMessage);
+    }
+
+    private void writeRows(JsonGenerator generator, Collection<?> skus) throws IOException {
+        generator.writeFieldName("rows");
+        generator.writeStartArray();
+        if (skus != null) {
+            for (Object sku : skus) {
+                rowWriter.writeValue(generator, sku);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Property names in the order the array serializer writes them, so they always line up with the rows.
+     */
+    private static List<String> fieldNames(ObjectMapper objectMapper) {
+        try {
+            List<String> names = new ArrayList<>();
+            objectMapper.getSerializerProviderInstance().findValueSerializer(Sku.class).properties()
+                    .forEachRemaining(property -> names.add(property.getName()));
+            return List.copyOf(names);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Cannot introspect " + Sku.class.getName(), e);
+        }
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    private abstract static class SkuRowMixin {
+    }
+}
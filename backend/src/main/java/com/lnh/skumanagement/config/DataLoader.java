@@ -1,15 +1,197 @@
 package com.lnh.skumanagement.config;
 
-import com.lnh.skumanagement.repository.SkuRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.lnh.skumanagement.service.cache.SkuCategoryCache;
+import com.lnh.skumanagement.service.impl.LowStockServiceImpl;
+import com.lnh.skumanagement.service.impl.SkuStatsServiceImpl;
+import com.lnh.skumanagement.service.rollup.SkuRollupJob;
+import com.lnh.skumanagement.service.search.SkuSearchIndexLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds an empty {@code skus} table with {@code app.lnh.seed.skus} generated SKUs (the perf profile sets
+ * it; everywhere else it is 0). Row {@code i} depends only on its index and {@code app.lnh.seed.random-seed},
+ * so every run produces the same catalogue (and, on a fresh schema, the same ids).
+ */
 @Component
+@RequiredArgsConstructor
+@Slf4j
 public class DataLoader implements CommandLineRunner {
 
+    private static final String INSERT_SQL = "INSERT INTO skus (sku_code, product_name, style_name, colour, "
+            + "description, quantity, price, category, supplier, size, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2023, 1, 1, 9, 0);
+
+    /**
+     * Weights are relative shares of the catalogue; prices are in whole rupees.
+     */
+    private static final Category[] CATEGORIES = {
+            new Category("Shirts", "SHT", 22, 1_499, 4_999,
+                    new String[]{"Shirt", "Overshirt", "Kurta Shirt", "Camp Collar Shirt"},
+                    new String[]{"XS", "S", "M", "L", "XL", "XXL"}),
+            new Category("Dresses", "DRS", 12, 2_499, 8_999,
+                    new String[]{"Midi Dress", "Shirt Dress", "Wrap Dress", "Maxi Dress"},
+                    new String[]{"XS", "S", "M", "L", "XL"}),
+            new Category("Trousers", "TRS", 14, 1_999, 5_999,
+                    new String[]{"Trousers", "Drawstring Pants", "Shorts", "Culottes"},
+                    new String[]{"28", "30", "32", "34", "36", "38"}),
+            new Category("Tops", "TOP", 10, 999, 3_499,
+                    new String[]{"Top", "Tunic", "Camisole", "Blouse"},
+                    new String[]{"XS", "S", "M", "L", "XL"}),
+            new Category("Bed Linen", "BED", 16, 2_999, 14_999,
+                    new String[]{"Duvet Cover", "Fitted Sheet", "Flat Sheet", "Pillowcase Pair", "Bedding Set"},
+                    new String[]{"Single", "Double", "Queen", "King", "Super King"}),
+            new Category("Bath Linen", "BTH", 8, 799, 3_999,
+                    new String[]{"Bath Towel", "Hand Towel", "Bath Robe", "Bath Mat"},
+                    new String[]{"S", "M", "L", "One Size"}),
+            new Category("Table Linen", "TBL", 7, 599, 6_999,
+                    new String[]{"Tablecloth", "Napkin Set", "Table Runner", "Placemat Set"},
+                    new String[]{"4 Seater", "6 Seater", "8 Seater", "One Size"}),
+            new Category("Cushions", "CSH", 6, 699, 2_999,
+                    new String[]{"Cushion Cover", "Bolster Cover", "Floor Cushion"},
+                    new String[]{"40x40", "45x45", "50x50", "60x60"}),
+            new Category("Curtains", "CRT", 5, 2_499, 9_999,
+                    new String[]{"Curtain Panel", "Sheer Curtain", "Blackout Curtain"},
+                    new String[]{"5ft", "7ft", "9ft"}),
+    };
+
+    private static final String[] STYLES = {"Havens Classic", "Coastal", "Stonewashed", "Herringbone", "Waffle",
+            "Slub", "Chambray", "Heritage", "Riviera", "Monsoon", "Kerala", "Nordic", "Pinstripe", "Gingham"};
+
+    private static final String[] COLOURS = {"White", "Ivory", "Natural", "Oatmeal", "Sand", "Sage", "Olive",
+            "Navy", "Indigo", "Sky Blue", "Charcoal", "Black", "Blush", "Terracotta", "Mustard", "Rust"};
+
+    private static final String[] SUPPLIERS = {"Coimbatore Mills", "Panipat Weavers", "Karur Textiles",
+            "Erode Looms", "Tiruppur Knits", "Bhiwandi Fabrics", "Surat Linen Co", "Ludhiana Weaves"};
+
+    private static final int[] CATEGORY_BY_WEIGHT = categoryByWeight();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SkuSearchIndexLoader skuSearchIndexLoader;
+    private final SkuStatsServiceImpl skuStatsService;
+    private final LowStockServiceImpl lowStockService;
+    private final SkuCategoryCache skuCategoryCache;
+    private final SkuRollupJob skuRollupJob;
+
+    @Value("${app.lnh.seed.skus:0}")
+    private int skus;
+
+    @Value("${app.lnh.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.lnh.seed.random-seed:20240101}")
+    private long randomSeed;
+
     @Override
     public void run(String... args) throws Exception {
+        if (skus <= 0) {
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM skus", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Not seeding SKUs: the table already has {} rows", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        for (int from = 0; from < skus; from += batchSize) {
+            int to = Math.min(skus, from + batchSize);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setRow(ps, first + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return to - first;
+                        }
+                    }));
+        }
+        log.info("Seeded {} SKUs in {} ms", skus, (System.nanoTime() - start) / 1_000_000);
+
+        // The inserts bypass the change events, so the in-memory views are rebuilt from the table
+        skuSearchIndexLoader.rebuild();
+        skuStatsService.reload();
+        lowStockService.reload();
+        skuCategoryCache.reload();
+        // Generated rows carry historical updated_at values, which an incremental rollup would skip
+        skuRollupJob.rebuild();
+    }
+
+    private void setRow(PreparedStatement ps, int index) throws SQLException {
+        SplittableRandom random = new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + index);
+        Category category = CATEGORIES[CATEGORY_BY_WEIGHT[random.nextInt(CATEGORY_BY_WEIGHT.length)]];
+        String style = STYLES[random.nextInt(STYLES.length)];
+        String colour = COLOURS[random.nextInt(COLOURS.length)];
+        String product = category.products[random.nextInt(category.products.length)];
+        // Prices end in 99, e.g. 2,499
+        int price = category.minPrice + random.nextInt((category.maxPrice - category.minPrice) / 100 + 1) * 100;
+        LocalDateTime created = EPOCH.plusMinutes(random.nextInt(60 * 24 * 600));
+        LocalDateTime updated = created.plusMinutes(random.nextInt(60 * 24 * 90));
+
+        ps.setString(1, category.code + "-" + String.format("%07d", index + 1));
+        ps.setString(2, style + " " + colour + " " + product);
+        ps.setString(3, style);
+        ps.setString(4, colour);
+        ps.setString(5, "Pure linen " + product.toLowerCase() + " in " + colour.toLowerCase() + ", "
+                + (120 + random.nextInt(13) * 10) + " gsm");
+        ps.setInt(6, quantity(random));
+        ps.setDouble(7, price);
+        ps.setString(8, category.name);
+        ps.setString(9, SUPPLIERS[random.nextInt(SUPPLIERS.length)]);
+        ps.setString(10, category.sizes[random.nextInt(category.sizes.length)]);
+        ps.setTimestamp(11, Timestamp.valueOf(created));
+        ps.setTimestamp(12, Timestamp.valueOf(updated));
+    }
+
+    /**
+     * Roughly 5% out of stock, 15% below the default low-stock threshold of 50, the rest up to 1,000.
+     */
+    private static int quantity(SplittableRandom random) {
+        int bucket = random.nextInt(100);
+        if (bucket < 5) {
+            return 0;
+        }
+        if (bucket < 20) {
+            return 1 + random.nextInt(49);
+        }
+        return 50 + random.nextInt(951);
+    }
+
+    private static int[] categoryByWeight() {
+        int total = 0;
+        for (Category category : CATEGORIES) {
+            total += category.weight;
+        }
+        int[] table = new int[total];
+        int next = 0;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            for (int w = 0; w < CATEGORIES[i].weight; w++) {
+                table[next++] = i;
+            }
+        }
+        return table;
+    }
 
+    private record Category(String name, String code, int weight, int minPrice, int maxPrice,
+                            String[] products, String[] sizes) {
     }
 }
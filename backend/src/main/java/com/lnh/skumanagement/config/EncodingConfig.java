@@ -0,0 +1,71 @@
+package com.lnh.skumanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Response encodings besides plain JSON, chosen by {@code Accept}. JSON stays the default for
+ * {@code *}{@code /*}; gzip on top of any of them is Tomcat's {@code server.compression}.
+ */
+@Configuration
+public class EncodingConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public EncodingConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replaces the Smile converter Spring MVC adds on its own, so Smile gets the same Jackson settings
+     * as JSON (ISO dates rather than timestamp arrays).
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    /**
+     * Replaces Spring Boot's JSON converter with one that leaves the columnar type alone. Through
+     * {@code application/*+json} it would otherwise write categories, stats or a single SKU as object
+     * JSON labelled columnar; asking for the columnar type on those endpoints now gets a 406.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter() {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected boolean canWrite(MediaType mediaType) {
+                return (mediaType == null || !ColumnarSkuHttpMessageConverter.COLUMNAR_JSON.includes(mediaType))
+                        && super.canWrite(mediaType);
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring Boot keeps MVC's default JSON converter behind the bean above; it would still claim the type
+        converters.removeIf(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class);
+        converters.add(0, new ColumnarSkuHttpMessageConverter(objectMapper));
+    }
+
+    /**
+     * Category, supplier, colour and style repeat across a catalogue; with shared string values each
+     * distinct one is written once and then referenced by index.
+     */
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+}
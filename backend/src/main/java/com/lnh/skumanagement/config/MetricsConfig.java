@@ -0,0 +1,38 @@
+package com.lnh.skumanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request statement counts. Endpoint latency ({@code http.server.requests}) and repository
+ * latency ({@code spring.data.repository.invocations}) are recorded by Spring Boot itself.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final int statementWarnThreshold;
+
+    public MetricsConfig(MeterRegistry meterRegistry,
+                         @Value("${app.lnh.metrics.statement-warn-threshold:20}") int statementWarnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementWarnThreshold = statementWarnThreshold;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountInspector());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestStatementMetrics(meterRegistry, statementWarnThreshold))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,79 @@
+package com.lnh.skumanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing, active when {@code app.lnh.db.replica-urls} lists at least one replica.
+ * Replicas share the primary's driver and, unless overridden, its credentials. Every pool, primary and
+ * replica, gets its own copy of the {@code spring.datasource.hikari} settings, including its size.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.lnh.db.replica-urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.lnh.db.replica-urls}") List<String> replicaUrls,
+            @Value("${app.lnh.db.replica-username:${spring.datasource.username}}") String replicaUsername,
+            @Value("${app.lnh.db.replica-password:${spring.datasource.password}}") String replicaPassword,
+            @Value("${app.lnh.db.replica-lag-query:}") String lagQuery,
+            @Value("${app.lnh.db.replica-max-lag-seconds:10}") double maxLagSeconds) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLagSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaReadFilter> replicaReadFilter(
+            @Value("${app.lnh.db.read-your-writes-ms:10000}") long readYourWritesMs) {
+        FilterRegistrationBean<ReplicaReadFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaReadFilter(Duration.ofMillis(readYourWritesMs)));
+        registration.addUrlPatterns("/api/skus", "/api/skus/*");
+        // After authentication, which identifies the client
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,68 @@
+package com.lnh.skumanagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Lets GET and HEAD requests read from a replica, except for clients that wrote within the read-your-writes
+ * window and for the change feed, whose versions must not run ahead of what a lagging replica shows.
+ * Clients are identified by authenticated user, or by address when authentication is off. OPTIONS
+ * requests pass through untouched.
+ */
+public class ReplicaReadFilter extends OncePerRequestFilter {
+
+    private static final String CHANGES_PATH = "/api/skus/changes";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaReadFilter(Duration readYourWritesWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            // CORS preflights neither write nor read SKUs, so they must not open a read-your-writes window
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String client = clientKey(request);
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (!read) {
+            // Marked before and after, so a read racing the response still goes to the primary
+            recentWriters.put(client, Boolean.TRUE);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean replicaAllowed = !path.startsWith(CHANGES_PATH) && recentWriters.getIfPresent(client) == null;
+        ReplicaRoutingDataSource.setReplicaAllowed(replicaAllowed);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setReplicaAllowed(false);
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Object user = request.getAttribute(TokenAuthenticationFilter.USER_ATTRIBUTE);
+        return user != null ? "user:" + user : "addr:" + request.getRemoteAddr();
+    }
+}
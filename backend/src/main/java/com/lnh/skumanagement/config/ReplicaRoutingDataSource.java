@@ -0,0 +1,187 @@
+package com.lnh.skumanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections for read-only transactions on threads that opted in through
+ * {@link #setReplicaAllowed}, and primary connections for everything else. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy} so the choice is made after the transaction's read-only
+ * flag is known.
+ * <p>
+ * Replicas that fail a connection or the periodic health check are skipped until they pass again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final HikariDataSource primaryPool;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Where primary connections are taken from: the pool itself unless {@link #admitThrough} was called.
+     */
+    private DataSource primary;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, String lagQuery,
+                                    double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.primaryPool = primary;
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        for (Replica replica : this.replicas) {
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Takes connections through {@code admission} instead of straight from each pool, primary and
+     * replicas alike. Must be called before the first connection is handed out.
+     */
+    public void admitThrough(Function<HikariDataSource, DataSource> admission) {
+        primary = admission.apply(primaryPool);
+        for (Replica replica : replicas) {
+            replica.dataSource = admission.apply(replica.pool);
+        }
+    }
+
+    public static void setReplicaAllowed(boolean allowed) {
+        if (allowed) {
+            REPLICA_ALLOWED.set(Boolean.TRUE);
+        } else {
+            REPLICA_ALLOWED.remove();
+        }
+    }
+
+    /**
+     * Runs {@code read} with replica reads disabled on this thread, then restores the previous setting.
+     * For results that outlive the request, such as cache entries, which must not be loaded from a
+     * lagging replica.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean allowed = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.remove();
+        try {
+            return read.get();
+        } finally {
+            if (allowed != null) {
+                REPLICA_ALLOWED.set(allowed);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionSource source) throws SQLException {
+        if (Boolean.TRUE.equals(REPLICA_ALLOWED.get())
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = nextHealthyReplica();
+            if (replica != null) {
+                try {
+                    return source.get(replica.dataSource);
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    log.warn("Replica {} unavailable, reading from primary: {}",
+                            replica.pool.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        return source.get(primary);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.lnh.db.replica-health-interval-ms:10000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica.pool);
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is now {}", replica.pool.getPoolName(), healthy ? "in service" : "out of service");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+        primaryPool.close();
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean isHealthy(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(2)) {
+                return false;
+            }
+            if (lagQuery == null) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                return resultSet.next() && resultSet.getDouble(1) <= maxLagSeconds;
+            }
+        } catch (SQLException e) {
+            log.debug("Replica health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource pool;
+        private DataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+            this.dataSource = pool;
+        }
+    }
+}
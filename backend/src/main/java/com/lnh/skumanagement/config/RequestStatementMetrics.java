@@ -0,0 +1,48 @@
+package com.lnh.skumanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many Hibernate statements each request issued, tagged like {@code http.server.requests},
+ * and logs requests over the threshold so N+1 query patterns show up.
+ */
+@Slf4j
+public class RequestStatementMetrics implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public RequestStatementMetrics(MeterRegistry meterRegistry, int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementCountInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int statements = StatementCountInspector.count();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("Hibernate statements issued per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > warnThreshold) {
+            log.warn("{} {} issued {} SQL statements", request.getMethod(), uri, statements);
+        }
+    }
+}
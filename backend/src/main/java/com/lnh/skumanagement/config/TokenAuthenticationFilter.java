@@ -0,0 +1,81 @@
+package com.lnh.skumanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lnh.skumanagement.service.auth.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Requires a valid bearer token on the SKU API; only login stays open, so new users are created by an
+ * authenticated user (or with {@code app.lnh.auth.required=false} to create the first one).
+ * The change and low-stock streams also accept the token as an {@code access_token} query parameter,
+ * because browsers cannot set headers on an {@code EventSource}.
+ */
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String USER_ATTRIBUTE = "authenticatedUser";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+    private static final Set<String> OPEN_PATHS = Set.of("/api/skus/auth/login");
+    private static final Set<String> QUERY_TOKEN_PATHS = Set.of("/api/skus/changes/stream", "/api/skus/alerts/stream");
+
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod()) || OPEN_PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = token(request);
+        String userName = token != null ? tokenService.verify(token) : null;
+        if (userName == null) {
+            reject(response);
+            return;
+        }
+        request.setAttribute(USER_ATTRIBUTE, userName);
+        filterChain.doFilter(request, response);
+    }
+
+    private String token(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        return QUERY_TOKEN_PATHS.contains(path(request)) ? request.getParameter(ACCESS_TOKEN_PARAMETER) : null;
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.UNAUTHORIZED.value());
+        body.put("message", "Missing or invalid bearer token");
+        body.put("timestamp", LocalDateTime.now());
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
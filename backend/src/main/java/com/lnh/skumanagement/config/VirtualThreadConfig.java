@@ -0,0 +1,33 @@
+package com.lnh.skumanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread mode ({@code app.lnh.server.virtual-threads}, Java 21 runtime). Request concurrency is
+ * no longer capped by Tomcat's worker pool, so connection demand is queued fairly in front of each pool:
+ * the single pool, or with read replicas the primary's and every replica's.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ReplicaRoutingDataSource routingDataSource) {
+                    routingDataSource.admitThrough(BoundedDataSource::forPool);
+                } else if (bean instanceof HikariDataSource pool && beanName.equals("dataSource")) {
+                    return BoundedDataSource.forPool(pool);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.lnh.skumanagement.controller;
 import com.lnh.skumanagement.model.LoginRequest;
 import com.lnh.skumanagement.model.LoginResponse;
 import com.lnh.skumanagement.service.AuthService;
+import com.lnh.skumanagement.service.auth.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/skus")
 @CrossOrigin(origins = "*")
@@ -23,17 +26,18 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenService tokenService;
 
     @PostMapping("/auth/login")
-    public ResponseEntity<LoginResponse> loginUser(@RequestBody LoginRequest loginRequest) {
-        boolean isValidCred = authService.loginUser(loginRequest);
-        if (!isValidCred) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new LoginResponse());
-        }
-        // Generate JWT token upon successful login
-        String token = "Login successful";
-        LoginResponse response = new LoginResponse().token(token);
-        return ResponseEntity.ok(new LoginResponse().token(token));
+    public CompletableFuture<ResponseEntity<LoginResponse>> loginUser(@RequestBody LoginRequest loginRequest) {
+        // Hashing runs on its own pool; the request thread is released until the result is ready
+        return authService.loginUser(loginRequest).thenApply(isValidCred -> {
+            if (!isValidCred) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new LoginResponse());
+            }
+            String token = tokenService.issue(loginRequest.getUserName());
+            return ResponseEntity.ok(new LoginResponse().token(token));
+        });
     }
 
     @PostMapping("/user")
@@ -0,0 +1,38 @@
+package com.lnh.skumanagement.controller;
+
+import com.lnh.skumanagement.model.LowStockAlerts;
+import com.lnh.skumanagement.service.LowStockService;
+import com.lnh.skumanagement.service.alerts.LowStockBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * SKUs below their reorder threshold, served from memory. {@code limit=0} returns just the count.
+ */
+@RestController
+@RequestMapping("/api/skus/alerts")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class LowStockController {
+
+    private final LowStockService lowStockService;
+    private final LowStockBroadcaster lowStockBroadcaster;
+
+    @GetMapping
+    public ResponseEntity<LowStockAlerts> getAlerts(@RequestParam(required = false) String category,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(lowStockService.getAlerts(category, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return lowStockBroadcaster.subscribe();
+    }
+}
@@ -0,0 +1,32 @@
+package com.lnh.skumanagement.controller;
+
+import com.lnh.skumanagement.model.SkuChanges;
+import com.lnh.skumanagement.service.SkuChangeService;
+import com.lnh.skumanagement.service.changes.SkuChangeBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/skus/changes")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class SkuChangeController {
+
+    private final SkuChangeService skuChangeService;
+    private final SkuChangeBroadcaster skuChangeBroadcaster;
+
+    @GetMapping
+    public ResponseEntity<SkuChanges> getChanges(@RequestParam(required = false) Long since,
+                                                 @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(skuChangeService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return skuChangeBroadcaster.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
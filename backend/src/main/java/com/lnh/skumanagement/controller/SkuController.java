@@ -1,16 +1,45 @@
 package com.lnh.skumanagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lnh.skumanagement.exception.BadRequestException;
 import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuCategories;
+import com.lnh.skumanagement.model.SkuHistoryPage;
+import com.lnh.skumanagement.model.SkuImportResult;
+import com.lnh.skumanagement.model.SkuPage;
+import com.lnh.skumanagement.model.SkuQuery;
+import com.lnh.skumanagement.model.SkuQueryPage;
+import com.lnh.skumanagement.model.SkuStats;
+import com.lnh.skumanagement.service.SkuExportService;
+import com.lnh.skumanagement.service.SkuHistoryService;
+import com.lnh.skumanagement.service.SkuImportService;
 import com.lnh.skumanagement.service.SkuService;
+import com.lnh.skumanagement.service.SkuStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/skus")
@@ -18,26 +47,110 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SkuController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
     private final SkuService skuService;
+    private final SkuImportService skuImportService;
+    private final SkuExportService skuExportService;
+    private final SkuStatsService skuStatsService;
+    private final SkuHistoryService skuHistoryService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<List<Sku>> getAllSkus() {
         return ResponseEntity.ok(skuService.getAllSkus());
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllSkus(@RequestParam List<String> fields) {
+        return ResponseEntity.ok(skuService.getAllSkus(fields));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<SkuPage> getSkuPage(@RequestParam(required = false) Long after,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(skuService.getSkuPage(after, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSkus() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                skuService.streamAllSkus(sku -> {
+                    try {
+                        writer.writeValue(generator, sku);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * CSV download of the catalogue, optionally filtered by category and supplier. {@code gzip=true} or
+     * {@code Accept: application/gzip} returns a .csv.gz file; otherwise the CSV is still gzipped in
+     * transit for clients that send {@code Accept-Encoding: gzip}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSkus(@RequestParam(required = false) List<String> category,
+                                                            @RequestParam(required = false) List<String> supplier,
+                                                            @RequestParam(required = false) Boolean gzip,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean gzipped = gzip != null ? gzip : acceptsOnlyGzip(accept);
+        StreamingResponseBody body = outputStream -> {
+            if (gzipped) {
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 1 << 16)) {
+                    skuExportService.exportCsv(category, supplier, gzipStream);
+                }
+            } else {
+                skuExportService.exportCsv(category, supplier, outputStream);
+            }
+        };
+        String filename = "skus-" + LocalDate.now() + (gzipped ? ".csv.gz" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(gzipped ? APPLICATION_GZIP : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Sku> getSkuById(@PathVariable Long id) {
-        return ResponseEntity.ok(skuService.getSkuById(id));
+    public ResponseEntity<Sku> getSkuById(@PathVariable Long id, WebRequest webRequest) {
+        return conditionalGet(skuService.getSkuById(id), webRequest);
+    }
+
+    /**
+     * Quantity and price changes, newest first. Recorded asynchronously, so a change can take a
+     * moment to appear.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<SkuHistoryPage> getSkuHistory(@PathVariable Long id,
+                                                        @RequestParam(required = false) Long before,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(skuHistoryService.getHistory(id, before, limit));
     }
 
     @GetMapping("/code/{skuCode}")
-    public ResponseEntity<Sku> getSkuByCode(@PathVariable String skuCode) {
-        return ResponseEntity.ok(skuService.getSkuByCode(skuCode));
+    public ResponseEntity<Sku> getSkuByCode(@PathVariable String skuCode, WebRequest webRequest) {
+        return conditionalGet(skuService.getSkuByCode(skuCode), webRequest);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Sku>> searchSkus(@RequestParam(required = false) String term) {
-        return ResponseEntity.ok(skuService.searchSkus(term));
+    public ResponseEntity<List<Sku>> searchSkus(@RequestParam(required = false) String term,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(skuService.searchSkus(term, page, size));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<SkuQueryPage> querySkus(SkuQuery query) {
+        return ResponseEntity.ok(skuService.querySkus(query));
     }
 
     @GetMapping("/category/{category}")
@@ -46,8 +159,20 @@ public class SkuController {
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getAllCategories() {
-        return ResponseEntity.ok(skuService.getAllCategories());
+    public ResponseEntity<List<String>> getAllCategories(WebRequest webRequest) {
+        SkuCategories categories = skuService.getAllCategories();
+        if (webRequest.checkNotModified(categories.getVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(categories.getVersion())
+                .body(categories.getCategories());
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<SkuStats> getStats() {
+        return ResponseEntity.ok(skuStatsService.getStats());
     }
 
     @PostMapping
@@ -56,17 +181,96 @@ public class SkuController {
         return new ResponseEntity<>(createdSku, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SkuImportResult> importSkus(@RequestBody List<Sku> skus) {
+        return ResponseEntity.ok(skuImportService.importSkus(skus));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SkuImportResult> importSkuCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(skuImportService.importCsv(csv));
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Sku> updateSku(@PathVariable Long id, @Valid @RequestBody Sku sku) {
-        Sku updatedSku = skuService.updateSku(id, sku);
-        return ResponseEntity.ok(updatedSku);
+    public ResponseEntity<Sku> updateSku(@PathVariable Long id, @Valid @RequestBody Sku sku,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Sku updatedSku = skuService.updateSku(id, sku, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(updatedSku.getVersion()))
+                .body(updatedSku);
+    }
+
+    /**
+     * Create-or-update by SKU code, for supplier sync jobs: 201 when the code was new, 200 when it
+     * overwrote an existing SKU.
+     */
+    @PutMapping("/code/{skuCode}")
+    public ResponseEntity<Sku> upsertSku(@PathVariable String skuCode, @Valid @RequestBody Sku sku) {
+        Sku savedSku = skuService.upsertSku(skuCode, sku);
+        return ResponseEntity.status(savedSku.getVersion() == 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(String.valueOf(savedSku.getVersion()))
+                .body(savedSku);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Boolean>> deleteSku(@PathVariable Long id) {
-        skuService.deleteSku(id);
+    public ResponseEntity<Map<String, Boolean>> deleteSku(@PathVariable Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                          String ifMatch) {
+        skuService.deleteSku(id, expectedVersion(ifMatch));
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<Sku> conditionalGet(Sku sku, WebRequest webRequest) {
+        String eTag = String.valueOf(sku.getVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(sku);
+    }
+
+    /**
+     * Version named by a single strong entity tag, or null for no header or {@code *}.
+     * A tag that cannot be one of ours yields a version that never matches.
+     */
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        if (ifMatch.contains(",")) {
+            throw new BadRequestException("If-Match must name a single entity tag");
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * True when the client asked for {@code application/gzip} but not for CSV, e.g. {@code Accept: application/gzip}.
+     */
+    private boolean acceptsOnlyGzip(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        boolean gzip = false;
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if (mediaType.isCompatibleWith(TEXT_CSV) && !mediaType.isWildcardType()) {
+                return false;
+            }
+            gzip |= mediaType.equalsTypeAndSubtype(APPLICATION_GZIP);
+        }
+        return gzip;
+    }
 }
@@ -0,0 +1,42 @@
+package com.lnh.skumanagement.controller;
+
+import com.lnh.skumanagement.model.RollupDimension;
+import com.lnh.skumanagement.model.SkuRollup;
+import com.lnh.skumanagement.service.SkuReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reporting over the daily rollups; nothing here reads the {@code skus} table.
+ */
+@RestController
+@RequestMapping("/api/skus/reports")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class SkuReportController {
+
+    private final SkuReportService skuReportService;
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<SkuRollup>> getCategoryRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(skuReportService.getDailyRollups(RollupDimension.CATEGORY, from, to));
+    }
+
+    @GetMapping("/suppliers")
+    public ResponseEntity<List<SkuRollup>> getSupplierRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(skuReportService.getDailyRollups(RollupDimension.SUPPLIER, from, to));
+    }
+}
@@ -0,0 +1,30 @@
+package com.lnh.skumanagement.controller;
+
+import com.lnh.skumanagement.model.StockAdjustment;
+import com.lnh.skumanagement.model.StockAdjustmentResult;
+import com.lnh.skumanagement.service.StockService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/skus/stock")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class StockController {
+
+    private final StockService stockService;
+
+    @PostMapping("/adjust")
+    public ResponseEntity<StockAdjustmentResult> adjustStock(@Valid @RequestBody StockAdjustment adjustment) {
+        return ResponseEntity.ok(stockService.adjustStock(adjustment));
+    }
+
+    @PostMapping("/adjustments")
+    public ResponseEntity<List<StockAdjustmentResult>> adjustStock(@RequestBody List<StockAdjustment> adjustments) {
+        return ResponseEntity.ok(stockService.adjustStock(adjustments));
+    }
+}
@@ -0,0 +1,31 @@
+package com.lnh.skumanagement.event;
+
+import com.lnh.skumanagement.model.Sku;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the SKU service for every create, update and delete.
+ * Listeners that keep derived state in memory should react after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class SkuChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    /**
+     * State before the change, null for {@link Type#CREATED}.
+     */
+    private final Sku previous;
+
+    /**
+     * State after the change, null for {@link Type#DELETED}.
+     */
+    private final Sku current;
+
+}
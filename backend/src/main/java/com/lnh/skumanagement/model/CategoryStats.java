@@ -0,0 +1,25 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryStats {
+
+    private long items;
+
+    private long quantity;
+
+    /**
+     * Sum of {@code price * quantity}.
+     */
+    private BigDecimal value;
+
+    private long lowStock;
+
+}
@@ -0,0 +1,29 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockAlert {
+
+    private Long id;
+
+    private String skuCode;
+
+    private String name;
+
+    private String category;
+
+    private String supplier;
+
+    private Integer quantity;
+
+    /**
+     * Reorder threshold in effect: the SKU's own, or the default when it has none.
+     */
+    private Integer threshold;
+
+}
@@ -0,0 +1,24 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockAlerts {
+
+    /**
+     * SKUs below their threshold, matching the filter; may exceed the number of items returned.
+     */
+    private long total;
+
+    /**
+     * Furthest below threshold first.
+     */
+    private List<LowStockAlert> items;
+
+}
@@ -0,0 +1,30 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockNotification {
+
+    public enum Type {
+        /**
+         * The SKU fell below its threshold, or was created below it.
+         */
+        LOW,
+        /**
+         * The SKU is back at or above its threshold, or was deleted.
+         */
+        CLEARED
+    }
+
+    private Type type;
+
+    /**
+     * State of the SKU after the change; the last known state when it was deleted.
+     */
+    private LowStockAlert alert;
+
+}
@@ -0,0 +1,21 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LowStockNotifications {
+
+    private List<LowStockNotification> notifications;
+
+    /**
+     * Number of SKUs below their threshold after these notifications.
+     */
+    private long total;
+
+}
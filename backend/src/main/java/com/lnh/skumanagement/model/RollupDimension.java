@@ -0,0 +1,8 @@
+package com.lnh.skumanagement.model;
+
+/**
+ * SKU attribute the daily rollups are grouped by.
+ */
+public enum RollupDimension {
+    CATEGORY, SUPPLIER
+}
@@ -27,6 +27,11 @@ public class Sku {
 
     private Integer quantity;
 
+    /**
+     * Quantity below which the SKU is low on stock; null for the default threshold.
+     */
+    private Integer reorderThreshold;
+
     private Double price;
 
     private String category;
@@ -39,4 +44,9 @@ public class Sku {
 
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented on every change; exposed as the ETag.
+     */
+    private Long version;
+
 }
@@ -0,0 +1,22 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SkuCategories {
+
+    /**
+     * Distinct categories in ascending order; unmodifiable.
+     */
+    private final List<String> categories;
+
+    /**
+     * Content-derived version, identical on every instance for the same category set. Used as ETag.
+     */
+    private final String version;
+
+}
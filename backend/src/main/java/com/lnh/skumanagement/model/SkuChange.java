@@ -0,0 +1,26 @@
+package com.lnh.skumanagement.model;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuChange {
+
+    private Long version;
+
+    private SkuChangedEvent.Type type;
+
+    private Long id;
+
+    private String skuCode;
+
+    /**
+     * Current state of the SKU, null when it has been deleted.
+     */
+    private Sku sku;
+
+}
@@ -0,0 +1,32 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuChanges {
+
+    /**
+     * Latest change per SKU, in version order.
+     */
+    private List<SkuChange> changes;
+
+    /**
+     * Version to pass as {@code since} on the next call.
+     */
+    private Long version;
+
+    private boolean hasMore;
+
+    /**
+     * True when the requested version is older than the retained history; the client has to
+     * reload the full list and continue from {@link #version}.
+     */
+    private boolean reset;
+
+}
@@ -0,0 +1,39 @@
+package com.lnh.skumanagement.model;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuHistoryEntry {
+
+    private Long id;
+
+    private Long skuId;
+
+    private String skuCode;
+
+    private SkuChangedEvent.Type type;
+
+    /**
+     * Null for {@link SkuChangedEvent.Type#CREATED}.
+     */
+    private Integer quantityBefore;
+
+    /**
+     * Null for {@link SkuChangedEvent.Type#DELETED}.
+     */
+    private Integer quantityAfter;
+
+    private Double priceBefore;
+
+    private Double priceAfter;
+
+    private LocalDateTime changedAt;
+
+}
@@ -0,0 +1,25 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuHistoryPage {
+
+    /**
+     * Newest first.
+     */
+    private List<SkuHistoryEntry> items;
+
+    /**
+     * Id of the oldest entry in this page, to be passed as {@code before} for the next page.
+     * Null when there are no older entries.
+     */
+    private Long nextCursor;
+
+}
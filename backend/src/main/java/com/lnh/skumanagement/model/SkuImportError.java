@@ -0,0 +1,21 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuImportError {
+
+    /**
+     * 1-based position of the row in the submitted array or CSV body (header excluded).
+     */
+    private int row;
+
+    private String skuCode;
+
+    private String message;
+
+}
@@ -0,0 +1,21 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuImportResult {
+
+    private int total;
+
+    private int imported;
+
+    private List<SkuImportError> errors = new ArrayList<>();
+
+}
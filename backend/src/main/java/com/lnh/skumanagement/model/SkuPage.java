@@ -0,0 +1,22 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuPage {
+
+    private List<Sku> items;
+
+    /**
+     * Id of the last SKU in this page, to be passed as {@code after} for the next page.
+     * Null when there are no more rows.
+     */
+    private Long nextCursor;
+
+}
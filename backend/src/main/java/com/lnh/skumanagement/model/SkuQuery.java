@@ -0,0 +1,50 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filters, sort and keyset position for {@code GET /api/skus/query}. Every filter is optional;
+ * list filters match any of their values.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuQuery {
+
+    private List<String> category;
+
+    private List<String> styleName;
+
+    private List<String> colour;
+
+    private List<String> size;
+
+    private List<String> supplier;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+
+    private Integer minQuantity;
+
+    private Integer maxQuantity;
+
+    /**
+     * A {@link SkuSortField}, by property name.
+     */
+    private String sort;
+
+    private boolean descending;
+
+    /**
+     * Cursor from the previous page's {@code nextCursor}; only valid with the same sort.
+     */
+    private String after;
+
+    private int limit = 100;
+
+}
@@ -0,0 +1,22 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuQueryPage {
+
+    private List<Sku> items;
+
+    /**
+     * Opaque position after the last item, to be passed as {@code after} for the next page.
+     * Null when there are no more rows.
+     */
+    private String nextCursor;
+
+}
@@ -0,0 +1,34 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totals of one category or supplier as of the last rollup run on {@link #day}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuRollup {
+
+    private LocalDate day;
+
+    /**
+     * Category or supplier name; empty for SKUs without one.
+     */
+    private String name;
+
+    private long items;
+
+    private long quantity;
+
+    /**
+     * Sum of {@code price * quantity}.
+     */
+    private BigDecimal value;
+
+}
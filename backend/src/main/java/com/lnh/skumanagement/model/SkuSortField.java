@@ -0,0 +1,35 @@
+package com.lnh.skumanagement.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sortable SKU properties. Ties are broken by id, which keeps keyset pagination stable.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SkuSortField {
+
+    ID("id"),
+    SKU_CODE("skuCode"),
+    NAME("name"),
+    CATEGORY("category"),
+    PRICE("price"),
+    QUANTITY("quantity"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    /**
+     * Accepts the property name ({@code updatedAt}) or the constant name ({@code UPDATED_AT}), ignoring case.
+     */
+    public static SkuSortField fromParameter(String parameter) {
+        for (SkuSortField field : values()) {
+            if (field.property.equalsIgnoreCase(parameter) || field.name().equalsIgnoreCase(parameter)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SkuStats {
+
+    private long totalItems;
+
+    private long totalQuantity;
+
+    private BigDecimal totalValue;
+
+    /**
+     * Number of SKUs whose quantity is below their reorder threshold.
+     */
+    private long lowStock;
+
+    /**
+     * Reorder threshold of SKUs that do not set their own.
+     */
+    private int lowStockThreshold;
+
+    private Map<String, CategoryStats> categories;
+
+}
@@ -0,0 +1,23 @@
+package com.lnh.skumanagement.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockAdjustment {
+
+    @NotBlank(message = "SKU code is required")
+    private String skuCode;
+
+    /**
+     * Signed change applied to the current quantity.
+     */
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+
+}
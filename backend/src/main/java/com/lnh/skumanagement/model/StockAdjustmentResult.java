@@ -0,0 +1,30 @@
+package com.lnh.skumanagement.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockAdjustmentResult {
+
+    public enum Status {
+        APPLIED, NOT_FOUND, INSUFFICIENT_STOCK
+    }
+
+    private String skuCode;
+
+    /**
+     * Net delta requested for this SKU code; several adjustments of one code in a batch are summed.
+     */
+    private int delta;
+
+    private Status status;
+
+    /**
+     * Quantity after the adjustment, null unless applied.
+     */
+    private Integer quantity;
+
+}
@@ -0,0 +1,33 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.repository.entity.SkuChangeEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SkuChangeRepository extends JpaRepository<SkuChangeEntity, Long> {
+
+    List<SkuChangeEntity> findByIdGreaterThanAndChangedAtLessThanEqualOrderByIdAsc(Long afterId,
+                                                                                   LocalDateTime changedBefore,
+                                                                                   Limit limit);
+
+    @Query("SELECT MAX(c.id) FROM SkuChangeEntity c WHERE c.changedAt <= :changedBefore")
+    Long findLatestVersion(@Param("changedBefore") LocalDateTime changedBefore);
+
+    @Query("SELECT MIN(c.id) FROM SkuChangeEntity c")
+    Long findOldestVersion();
+
+    @Query("SELECT MAX(c.id) FROM SkuChangeEntity c")
+    Long findNewestVersion();
+
+    @Modifying
+    @Query("DELETE FROM SkuChangeEntity c WHERE c.changedAt < :cutoff AND c.id < :keepId")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("keepId") Long keepId);
+}
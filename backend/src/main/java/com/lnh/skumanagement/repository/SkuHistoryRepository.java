@@ -0,0 +1,20 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.model.SkuHistoryEntry;
+import com.lnh.skumanagement.repository.entity.SkuHistoryEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SkuHistoryRepository extends JpaRepository<SkuHistoryEntity, Long> {
+
+    @Query("SELECT new com.lnh.skumanagement.model.SkuHistoryEntry(h.id, h.skuId, h.skuCode, h.changeType, " +
+           "h.quantityBefore, h.quantityAfter, h.priceBefore, h.priceAfter, h.changedAt) " +
+           "FROM SkuHistoryEntity h WHERE h.skuId = :skuId AND h.id < :beforeId ORDER BY h.id DESC")
+    List<SkuHistoryEntry> findHistory(@Param("skuId") Long skuId, @Param("beforeId") Long beforeId, Limit limit);
+}
@@ -0,0 +1,17 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.model.Sku;
+
+/**
+ * Single-statement insert that leaves duplicate detection to the unique index on {@code sku_code}.
+ */
+public interface SkuInsertRepository {
+
+    /**
+     * Inserts the SKU with its timestamps as given and version 0.
+     *
+     * @return the generated id, or null if the SKU code is already taken; the surrounding
+     * transaction stays usable in both cases
+     */
+    Long insertIfAbsent(Sku sku);
+}
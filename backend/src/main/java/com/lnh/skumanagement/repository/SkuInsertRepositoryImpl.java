@@ -0,0 +1,53 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.model.Sku;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+@RequiredArgsConstructor
+public class SkuInsertRepositoryImpl implements SkuInsertRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO skus (sku_code, product_name, style_name, colour, "
+            + "description, quantity, reorder_threshold, price, category, supplier, size, created_at, updated_at, "
+            + "version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Long insertIfAbsent(Sku sku) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            int inserted = jdbcTemplate.update(connection -> {
+                // A failed statement aborts the whole transaction on PostgreSQL, so the conflict is
+                // reported as zero rows there. MySQL and H2 only roll back the failed statement.
+                boolean postgres = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+                PreparedStatement ps = connection.prepareStatement(
+                        postgres ? INSERT_SQL + " ON CONFLICT (sku_code) DO NOTHING" : INSERT_SQL, new String[]{"id"});
+                ps.setString(1, sku.getSkuCode());
+                ps.setString(2, sku.getName());
+                ps.setString(3, sku.getStyleName());
+                ps.setString(4, sku.getColour());
+                ps.setString(5, sku.getDescription());
+                ps.setInt(6, sku.getQuantity());
+                ps.setObject(7, sku.getReorderThreshold(), Types.INTEGER);
+                ps.setDouble(8, sku.getPrice());
+                ps.setString(9, sku.getCategory());
+                ps.setString(10, sku.getSupplier());
+                ps.setString(11, sku.getSize());
+                ps.setTimestamp(12, Timestamp.valueOf(sku.getCreatedAt()));
+                ps.setTimestamp(13, Timestamp.valueOf(sku.getUpdatedAt()));
+                return ps;
+            }, keyHolder);
+            return inserted == 0 ? null : keyHolder.getKeyAs(Number.class).longValue();
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification queries that select straight into the API DTO, like {@link SkuRepository#SKU_PROJECTION};
+ * {@code findBy(Specification, ...)} can only return entities.
+ */
+public interface SkuQueryRepository {
+
+    List<Sku> findSkus(Specification<SkuEntity> specification, Sort sort, int limit);
+}
@@ -0,0 +1,41 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SkuQueryRepositoryImpl implements SkuQueryRepository {
+
+    // Constructor order of Sku, as in SkuRepository.SKU_PROJECTION
+    private static final List<String> SKU_COLUMNS = List.of("id", "skuCode", "name", "styleName", "colour",
+            "description", "quantity", "reorderThreshold", "price", "category", "supplier", "size", "createdAt",
+            "updatedAt", "version");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Sku> findSkus(Specification<SkuEntity> specification, Sort sort, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Sku> query = builder.createQuery(Sku.class);
+        Root<SkuEntity> root = query.from(SkuEntity.class);
+        query.select(builder.construct(Sku.class, SKU_COLUMNS.stream().map(root::get).toArray(Selection<?>[]::new)));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
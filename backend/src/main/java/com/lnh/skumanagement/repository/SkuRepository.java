@@ -1,27 +1,110 @@
 package com.lnh.skumanagement.repository;
 
+import com.lnh.skumanagement.model.LowStockAlert;
+import com.lnh.skumanagement.model.Sku;
 import com.lnh.skumanagement.repository.entity.SkuEntity;
+import com.lnh.skumanagement.repository.projection.CategoryCount;
+import com.lnh.skumanagement.repository.projection.CategoryTotals;
+import com.lnh.skumanagement.repository.projection.SkuVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface SkuRepository extends JpaRepository<SkuEntity, Long> {
+public interface SkuRepository extends JpaRepository<SkuEntity, Long>, JpaSpecificationExecutor<SkuEntity>,
+        SkuInsertRepository, SkuQueryRepository {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Selects straight into the API DTO: no managed entities, no dirty-check snapshots, no mapper copy.
+     */
+    String SKU_PROJECTION = "SELECT new com.lnh.skumanagement.model.Sku(s.id, s.skuCode, s.name, s.styleName, " +
+            "s.colour, s.description, s.quantity, s.reorderThreshold, s.price, s.category, s.supplier, s.size, s.createdAt, " +
+            "s.updatedAt, s.version) FROM SkuEntity s ";
     
     Optional<SkuEntity> findBySkuCode(String skuCode);
     
-    List<SkuEntity> findByCategory(String category);
+    @Query(SKU_PROJECTION + "ORDER BY s.id")
+    List<Sku> findAllSkus();
+
+    @Query(SKU_PROJECTION + "WHERE s.category = :category ORDER BY s.id")
+    List<Sku> findSkusByCategory(@Param("category") String category);
+
+    @Query(SKU_PROJECTION + "WHERE s.id IN :ids")
+    List<Sku> findSkusByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<SkuEntity> findBySkuCodeIn(Collection<String> skuCodes);
+
+    /**
+     * Rewrites a SKU only if it is still at {@code version}; returns 0 when it changed or is gone.
+     */
+    @Modifying
+    @Query("UPDATE SkuEntity s SET s.skuCode = :#{#sku.skuCode}, s.name = :#{#sku.name}, " +
+           "s.styleName = :#{#sku.styleName}, s.colour = :#{#sku.colour}, s.description = :#{#sku.description}, " +
+           "s.quantity = :#{#sku.quantity}, s.reorderThreshold = :#{#sku.reorderThreshold}, " +
+           "s.price = :#{#sku.price}, s.category = :#{#sku.category}, " +
+           "s.supplier = :#{#sku.supplier}, s.size = :#{#sku.size}, s.updatedAt = :#{#sku.updatedAt}, " +
+           "s.version = s.version + 1 WHERE s.id = :#{#sku.id} AND s.version = :version")
+    int updateIfVersion(@Param("sku") Sku sku, @Param("version") Long version);
+
+    @Modifying
+    @Query("DELETE FROM SkuEntity s WHERE s.id = :id AND s.version = :version")
+    int deleteIfVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query("SELECT s.skuCode FROM SkuEntity s WHERE s.skuCode IN :skuCodes")
+    Set<String> findExistingSkuCodes(@Param("skuCodes") Collection<String> skuCodes);
+
+    @Query(SKU_PROJECTION + "WHERE s.id > :afterId ORDER BY s.id")
+    List<Sku> findSkuPage(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM SkuEntity s ORDER BY s.id")
+    Stream<SkuEntity> streamAll();
     
-    @Query("SELECT s FROM SkuEntity s WHERE " +
-           "LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+    /**
+     * Unindexed fallback used only while the in-memory search index is loading.
+     */
+    @Query(SKU_PROJECTION + "WHERE " +
            "LOWER(s.skuCode) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(s.category) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<SkuEntity> searchSkus(@Param("searchTerm") String searchTerm);
+           "LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(s.styleName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(s.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(s.colour) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "ORDER BY s.id")
+    List<Sku> searchSkus(@Param("searchTerm") String searchTerm, Pageable pageable);
     
-    @Query("SELECT DISTINCT s.category FROM SkuEntity s ORDER BY s.category")
-    List<String> findAllCategories();
+    @Query("SELECT s.category AS category, COUNT(s) AS items, SUM(s.quantity) AS quantity, " +
+           "SUM(s.price * s.quantity) AS value, " +
+           "SUM(CASE WHEN s.quantity < COALESCE(s.reorderThreshold, :lowStockThreshold) THEN 1 ELSE 0 END) AS lowStock " +
+           "FROM SkuEntity s GROUP BY s.category")
+    List<CategoryTotals> findCategoryTotals(@Param("lowStockThreshold") int lowStockThreshold);
+
+    @Query("SELECT new com.lnh.skumanagement.model.LowStockAlert(s.id, s.skuCode, s.name, s.category, s.supplier, " +
+           "s.quantity, COALESCE(s.reorderThreshold, :defaultThreshold)) FROM SkuEntity s " +
+           "WHERE s.quantity < COALESCE(s.reorderThreshold, :defaultThreshold)")
+    List<LowStockAlert> findLowStock(@Param("defaultThreshold") int defaultThreshold);
+
+    @Query("SELECT s.category AS category, COUNT(s) AS items FROM SkuEntity s GROUP BY s.category")
+    List<CategoryCount> findCategoryCounts();
+
+    @Query("SELECT s.id AS id, s.version AS version FROM SkuEntity s WHERE s.id IN :ids")
+    List<SkuVersion> findVersions(@Param("ids") Collection<Long> ids);
 }
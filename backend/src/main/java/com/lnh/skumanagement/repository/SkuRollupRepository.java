@@ -0,0 +1,23 @@
+package com.lnh.skumanagement.repository;
+
+import com.lnh.skumanagement.model.RollupDimension;
+import com.lnh.skumanagement.model.SkuRollup;
+import com.lnh.skumanagement.repository.entity.SkuRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SkuRollupRepository extends JpaRepository<SkuRollupEntity, Long> {
+
+    @Query("SELECT new com.lnh.skumanagement.model.SkuRollup(r.day, r.name, r.items, r.quantity, r.value) " +
+           "FROM SkuRollupEntity r WHERE r.dimension = :dimension AND r.day BETWEEN :from AND :to " +
+           "ORDER BY r.day, r.name")
+    List<SkuRollup> findRollups(@Param("dimension") RollupDimension dimension,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+}
@@ -0,0 +1,33 @@
+package com.lnh.skumanagement.repository.entity;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per committed SKU change. The generated id is the change feed version.
+ */
+@Entity
+@Table(name = "sku_changes", indexes = @Index(name = "idx_sku_changes_changed_at", columnList = "changed_at"))
+@Data
+public class SkuChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "sku_code", nullable = false)
+    private String skuCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private SkuChangedEvent.Type changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -6,12 +6,24 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "skus")
+// Composite indexes for GET /api/skus/query: category browses in each sort order, global sorts,
+// and the style/colour/size filters. The trailing id matches the keyset tie-breaker.
+@Table(name = "skus", indexes = {
+        @Index(name = "idx_skus_category_name", columnList = "category, product_name, id"),
+        @Index(name = "idx_skus_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_skus_category_quantity", columnList = "category, quantity, id"),
+        @Index(name = "idx_skus_style_colour_size", columnList = "style_name, colour, size"),
+        @Index(name = "idx_skus_price", columnList = "price, id"),
+        @Index(name = "idx_skus_quantity", columnList = "quantity, id"),
+        @Index(name = "idx_skus_updated_at", columnList = "updated_at, id")
+})
 @Data
 public class SkuEntity {
 
@@ -20,22 +32,27 @@ public class SkuEntity {
     private Long id;
 
     @NotBlank(message = "SKU code is required")
+    @Size(max = 255, message = "SKU code must be at most 255 characters")
     @Column(name = "sku_code" ,unique = true, nullable = false)
     private String skuCode;
 
     @NotBlank(message = "Product name is required")
+    @Size(max = 255, message = "Product name must be at most 255 characters")
     @Column(name = "product_name" , nullable = false)
     @JsonProperty("name")
     private String name;
 
     @NotBlank(message = "Style name is required")
+    @Size(max = 255, message = "Style name must be at most 255 characters")
     @Column(name = "style_name",nullable = false)
     private String styleName;
 
     @NotBlank(message = "Colour is required")
+    @Size(max = 255, message = "Colour must be at most 255 characters")
     @Column(nullable = false)
     private String colour;
 
+    @Size(max = 1000, message = "Description must be at most 1000 characters")
     @Column(length = 1000)
     private String description;
 
@@ -43,16 +60,24 @@ public class SkuEntity {
     @Min(value = 0, message = "Quantity cannot be negative")
     private Integer quantity;
 
+    // Null falls back to app.lnh.stats.low-stock-threshold
+    @Min(value = 0, message = "Reorder threshold cannot be negative")
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
     private Double price;
 
     @NotBlank(message = "Category is required")
+    @Size(max = 255, message = "Category must be at most 255 characters")
     private String category;
 
+    @Size(max = 255, message = "Supplier must be at most 255 characters")
     private String supplier;
 
     @NotBlank(message = "Size is required")
+    @Size(max = 255, message = "Size must be at most 255 characters")
     @Column(nullable = false)
     private String size;
 
@@ -62,6 +87,12 @@ public class SkuEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Bumped by every write path, including the JDBC ones; the default fills rows that predate the column
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
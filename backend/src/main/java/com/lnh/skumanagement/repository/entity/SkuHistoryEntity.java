@@ -0,0 +1,46 @@
+package com.lnh.skumanagement.repository.entity;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only audit row for a change to a SKU's quantity or price. Rows outlive the SKU, so
+ * there is no foreign key.
+ */
+@Entity
+@Table(name = "sku_history", indexes = @Index(name = "idx_sku_history_sku_id", columnList = "sku_id, id"))
+@Data
+public class SkuHistoryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sku_id", nullable = false)
+    private Long skuId;
+
+    @Column(name = "sku_code", nullable = false)
+    private String skuCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private SkuChangedEvent.Type changeType;
+
+    @Column(name = "quantity_before")
+    private Integer quantityBefore;
+
+    @Column(name = "quantity_after")
+    private Integer quantityAfter;
+
+    @Column(name = "price_before")
+    private Double priceBefore;
+
+    @Column(name = "price_after")
+    private Double priceAfter;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,43 @@
+package com.lnh.skumanagement.repository.entity;
+
+import com.lnh.skumanagement.model.RollupDimension;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily per-category and per-supplier totals. Today's rows are updated by every rollup run;
+ * earlier days keep the totals from the last run on that day.
+ */
+@Entity
+@Table(name = "sku_rollups", uniqueConstraints = @UniqueConstraint(name = "uk_sku_rollups_day_dimension_name",
+        columnNames = {"dimension", "rollup_day", "name"}))
+@Data
+public class SkuRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupDimension dimension;
+
+    // DAY and VALUE are keywords in H2
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private long items;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(name = "total_value", nullable = false, precision = 24, scale = 4)
+    private BigDecimal value;
+}
@@ -0,0 +1,26 @@
+package com.lnh.skumanagement.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * What each SKU contributed to the rollups at the last run. Diffing a changed SKU against this
+ * row gives the delta to apply, so processing the same change twice is harmless.
+ */
+@Entity
+@Table(name = "sku_rollup_state")
+@Data
+public class SkuRollupStateEntity {
+
+    @Id
+    @Column(name = "sku_id")
+    private Long skuId;
+
+    private String category;
+
+    private String supplier;
+
+    private Integer quantity;
+
+    private Double price;
+}
@@ -0,0 +1,22 @@
+package com.lnh.skumanagement.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row: the start time of the last completed rollup run. Runs lock it, so instances take
+ * turns rather than applying the same deltas twice.
+ */
+@Entity
+@Table(name = "sku_rollup_watermark")
+@Data
+public class SkuRollupWatermarkEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "rolled_up_to")
+    private LocalDateTime rolledUpTo;
+}
@@ -11,6 +11,7 @@ import java.util.List;
 public interface SkuEntityMapper {
     SkuEntity toSkuEntity(Sku sku);
     Sku toSku(SkuEntity skuEntity);
+    Sku copySku(Sku sku);
 
     List<SkuEntity> toSkuEntityList(List<Sku> skuList);
     List<Sku> toSkuList(List<SkuEntity> skuEntities);
@@ -0,0 +1,8 @@
+package com.lnh.skumanagement.repository.projection;
+
+public interface CategoryCount {
+
+    String getCategory();
+
+    Number getItems();
+}
@@ -0,0 +1,14 @@
+package com.lnh.skumanagement.repository.projection;
+
+public interface CategoryTotals {
+
+    String getCategory();
+
+    Number getItems();
+
+    Number getQuantity();
+
+    Number getValue();
+
+    Number getLowStock();
+}
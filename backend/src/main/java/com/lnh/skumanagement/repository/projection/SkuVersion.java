@@ -0,0 +1,8 @@
+package com.lnh.skumanagement.repository.projection;
+
+public interface SkuVersion {
+
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,68 @@
+package com.lnh.skumanagement.repository.specification;
+
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Building blocks for {@code GET /api/skus/query}. A null or empty argument yields a null
+ * specification, which {@link Specification#where} and {@code and} ignore.
+ */
+public final class SkuSpecifications {
+
+    private SkuSpecifications() {
+    }
+
+    public static Specification<SkuEntity> in(String property, Collection<?> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        if (values.size() == 1) {
+            Object value = values.iterator().next();
+            return (root, query, cb) -> cb.equal(root.get(property), value);
+        }
+        return (root, query, cb) -> root.get(property).in(values);
+    }
+
+    public static <T extends Comparable<? super T>> Specification<SkuEntity> between(String property, T min, T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<T> path = root.get(property);
+            if (min == null) {
+                return cb.lessThanOrEqualTo(path, max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(path, min);
+            }
+            return cb.between(path, min, max);
+        };
+    }
+
+    /**
+     * Rows after {@code (value, id)} in {@code (property, id)} order. The redundant bound on the
+     * sort column alone lets the database turn this into an index range scan.
+     */
+    public static <T extends Comparable<? super T>> Specification<SkuEntity> after(String property, T value, Long id,
+                                                                                   boolean descending) {
+        return (root, query, cb) -> {
+            Path<T> path = root.get(property);
+            Path<Long> idPath = root.get("id");
+            if (descending) {
+                return cb.and(cb.lessThanOrEqualTo(path, value),
+                        cb.or(cb.lessThan(path, value), cb.and(cb.equal(path, value), cb.lessThan(idPath, id))));
+            }
+            return cb.and(cb.greaterThanOrEqualTo(path, value),
+                    cb.or(cb.greaterThan(path, value), cb.and(cb.equal(path, value), cb.greaterThan(idPath, id))));
+        };
+    }
+
+    public static Specification<SkuEntity> afterId(Long id, boolean descending) {
+        return (root, query, cb) -> descending
+                ? cb.lessThan(root.get("id"), id)
+                : cb.greaterThan(root.get("id"), id);
+    }
+}
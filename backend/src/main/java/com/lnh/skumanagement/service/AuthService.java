@@ -2,8 +2,10 @@ package com.lnh.skumanagement.service;
 
 import com.lnh.skumanagement.model.LoginRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
-    boolean loginUser(LoginRequest loginRequest);
+    CompletableFuture<Boolean> loginUser(LoginRequest loginRequest);
 
     void createUser(LoginRequest loginRequest);
 }
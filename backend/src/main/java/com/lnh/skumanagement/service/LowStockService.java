@@ -0,0 +1,12 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.LowStockAlerts;
+
+public interface LowStockService {
+
+    /**
+     * SKUs below their reorder threshold, optionally in one category, furthest below first.
+     * Cost depends on the number of alerts, not on the size of the catalogue.
+     */
+    LowStockAlerts getAlerts(String category, int limit);
+}
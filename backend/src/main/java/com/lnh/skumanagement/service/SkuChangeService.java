@@ -0,0 +1,12 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.SkuChanges;
+
+public interface SkuChangeService {
+
+    /**
+     * Changes committed after {@code since}. Without {@code since}, returns no changes and the
+     * current version, which a client takes before loading the full list.
+     */
+    SkuChanges getChanges(Long since, int limit);
+}
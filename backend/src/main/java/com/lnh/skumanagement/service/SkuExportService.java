@@ -0,0 +1,14 @@
+package com.lnh.skumanagement.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface SkuExportService {
+
+    /**
+     * Writes the SKUs matching the filters to {@code outputStream} as UTF-8 CSV in id order, with a
+     * header row the bulk CSV import accepts. Null or empty filters match everything.
+     */
+    void exportCsv(List<String> categories, List<String> suppliers, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.SkuHistoryPage;
+
+public interface SkuHistoryService {
+
+    /**
+     * Quantity and price changes of one SKU, newest first, older than the entry {@code before}.
+     * History is kept after the SKU is deleted.
+     */
+    SkuHistoryPage getHistory(Long skuId, Long before, int limit);
+}
@@ -0,0 +1,14 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuImportResult;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface SkuImportService {
+
+    SkuImportResult importSkus(List<Sku> skus);
+
+    SkuImportResult importCsv(InputStream csv);
+}
@@ -0,0 +1,19 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.RollupDimension;
+import com.lnh.skumanagement.model.SkuRollup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SkuReportService {
+
+    /**
+     * Daily totals per category or supplier, read from the rollup tables only. A day the rollup
+     * job did not run on has no rows.
+     *
+     * @param from inclusive, defaults to 30 days before {@code to}
+     * @param to   inclusive, defaults to today
+     */
+    List<SkuRollup> getDailyRollups(RollupDimension dimension, LocalDate from, LocalDate to);
+}
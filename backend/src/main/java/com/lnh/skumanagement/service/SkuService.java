@@ -1,26 +1,52 @@
 package com.lnh.skumanagement.service;
 
 import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuCategories;
+import com.lnh.skumanagement.model.SkuPage;
+import com.lnh.skumanagement.model.SkuQuery;
+import com.lnh.skumanagement.model.SkuQueryPage;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface SkuService {
     
     List<Sku> getAllSkus();
+
+    /**
+     * Sparse fieldset: only the named {@link Sku} properties, in the order given.
+     */
+    List<Map<String, Object>> getAllSkus(List<String> fields);
+
+    SkuPage getSkuPage(Long afterId, int limit);
+
+    void streamAllSkus(Consumer<Sku> consumer);
     
     Sku getSkuById(Long id);
     
     Sku getSkuByCode(String skuCode);
     
     Sku createSku(Sku sku);
+
+    /**
+     * Creates the SKU under {@code skuCode}, or overwrites the one already there. The result has
+     * version 0 exactly when it was created.
+     */
+    Sku upsertSku(String skuCode, Sku sku);
     
-    Sku updateSku(Long id, Sku sku);
+    /**
+     * Conditional on {@code expectedVersion} when it is not null.
+     */
+    Sku updateSku(Long id, Sku sku, Long expectedVersion);
     
-    void deleteSku(Long id);
+    void deleteSku(Long id, Long expectedVersion);
     
-    List<Sku> searchSkus(String searchTerm);
+    List<Sku> searchSkus(String searchTerm, int page, int size);
     
     List<Sku> getSkusByCategory(String category);
+
+    SkuQueryPage querySkus(SkuQuery query);
     
-    List<String> getAllCategories();
+    SkuCategories getAllCategories();
 }
@@ -0,0 +1,8 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.SkuStats;
+
+public interface SkuStatsService {
+
+    SkuStats getStats();
+}
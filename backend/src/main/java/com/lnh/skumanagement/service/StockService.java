@@ -0,0 +1,13 @@
+package com.lnh.skumanagement.service;
+
+import com.lnh.skumanagement.model.StockAdjustment;
+import com.lnh.skumanagement.model.StockAdjustmentResult;
+
+import java.util.List;
+
+public interface StockService {
+
+    StockAdjustmentResult adjustStock(StockAdjustment adjustment);
+
+    List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments);
+}
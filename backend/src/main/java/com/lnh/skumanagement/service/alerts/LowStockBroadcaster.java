@@ -0,0 +1,131 @@
+package com.lnh.skumanagement.service.alerts;
+
+import com.lnh.skumanagement.model.LowStockNotification;
+import com.lnh.skumanagement.model.LowStockNotifications;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes threshold crossings to server-sent event subscribers. Writers only queue notifications;
+ * a scheduled task sends them, so a slow subscriber never holds up a stock update.
+ * <p>
+ * There is no replay: a client loads {@code GET /api/skus/alerts} after subscribing, and again on a
+ * {@code reset} event, which is sent instead of the notifications whenever the queue overflowed.
+ */
+@Component
+@Slf4j
+public class LowStockBroadcaster {
+
+    public static final String ALERTS_EVENT = "low-stock";
+    public static final String RESET_EVENT = "reset";
+
+    private final long timeoutMs;
+    private final long heartbeatMs;
+    private final BlockingQueue<LowStockNotification> queue;
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+    /**
+     * Held while sending; not a monitor, since socket writes would pin a virtual thread.
+     */
+    private final ReentrantLock sendLock = new ReentrantLock();
+
+    private volatile long total;
+    private volatile boolean overflowed;
+    private long lastSent;
+
+    public LowStockBroadcaster(@Value("${app.lnh.alerts.stream-timeout-ms:1800000}") long timeoutMs,
+                               @Value("${app.lnh.alerts.heartbeat-ms:15000}") long heartbeatMs,
+                               @Value("${app.lnh.alerts.queue-capacity:10000}") int queueCapacity) {
+        this.timeoutMs = timeoutMs;
+        this.heartbeatMs = heartbeatMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    /**
+     * Queues crossings for the next push; {@code total} is the alert count after them.
+     */
+    public void publish(List<LowStockNotification> notifications, long total) {
+        this.total = total;
+        if (emitters.isEmpty()) {
+            return;
+        }
+        for (LowStockNotification notification : notifications) {
+            if (!queue.offer(notification)) {
+                overflowed = true;
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lnh.alerts.push-interval-ms:1000}")
+    public void push() {
+        sendLock.lock();
+        try {
+            if (emitters.isEmpty()) {
+                queue.clear();
+                overflowed = false;
+                return;
+            }
+            List<LowStockNotification> notifications = new ArrayList<>(queue.size());
+            queue.drainTo(notifications);
+            if (overflowed) {
+                overflowed = false;
+                log.warn("Low-stock notification queue overflowed; telling {} subscribers to reload", emitters.size());
+                LowStockNotifications reset = new LowStockNotifications(List.of(), total);
+                emitters.forEach(emitter -> send(emitter, reset, RESET_EVENT));
+            } else if (!notifications.isEmpty()) {
+                LowStockNotifications batch = new LowStockNotifications(notifications, total);
+                emitters.forEach(emitter -> send(emitter, batch, ALERTS_EVENT));
+            }
+            if (System.currentTimeMillis() - lastSent >= heartbeatMs) {
+                emitters.forEach(this::heartbeat);
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    private void send(SseEmitter emitter, LowStockNotifications notifications, String eventName) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(eventName)
+                    .data(notifications, MediaType.APPLICATION_JSON));
+            lastSent = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping low-stock subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void heartbeat(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            lastSent = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
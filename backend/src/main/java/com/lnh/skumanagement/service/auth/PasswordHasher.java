@@ -0,0 +1,112 @@
+package com.lnh.skumanagement.service.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PBKDF2 hashing on a dedicated, bounded pool so that a burst of logins cannot occupy the web
+ * server's request threads. When the pool and its queue are full, new work is rejected
+ * immediately with {@link RejectedExecutionException} instead of queueing without limit.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int ITERATIONS = 10000;
+    private static final int KEY_LENGTH = 256;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ThreadLocal<SecretKeyFactory> KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${app.lnh.auth.hash-threads:0}") int threads,
+                          @Value("${app.lnh.auth.hash-queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "auth.password.hash");
+        this.hashTimer = Timer.builder("auth.password.hash.duration")
+                .description("Time spent computing a PBKDF2 password hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hash requests rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    public byte[] generateSalt() {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * @return Base64 encoded hash, computed on the hashing pool
+     * @throws RejectedExecutionException if the pool and its queue are full
+     */
+    public CompletableFuture<String> hash(String password, byte[] salt) {
+        try {
+            return CompletableFuture.supplyAsync(() -> hashTimer.record(() -> compute(password, salt)), executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private String compute(String password, byte[] salt) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
+        try {
+            byte[] hash = KEY_FACTORY.get().generateSecret(spec).getEncoded();
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (InvalidKeySpecException e) {
+            log.error("Error hashing password", e);
+            throw new RuntimeException("Error hashing password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
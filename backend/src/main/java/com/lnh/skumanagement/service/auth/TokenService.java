@@ -0,0 +1,139 @@
+package com.lnh.skumanagement.service.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Issues and verifies HS256 JSON Web Tokens signed with {@code jwt.secret}.
+ * <p>
+ * Verification needs no database access. Tokens that verified once are kept in a bounded cache
+ * until they expire, so repeated requests with the same token skip the HMAC and JSON parsing.
+ */
+@Component
+@Slf4j
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final String HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final long expirationMillis;
+    private final ThreadLocal<Mac> mac;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenService(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${jwt.secret:}") String secret,
+                        @Value("${jwt.expiration:86400000}") long expirationMillis,
+                        @Value("${app.lnh.auth.token-cache-size:10000}") long tokenCacheSize) {
+        this.objectMapper = objectMapper;
+        this.expirationMillis = expirationMillis;
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            log.warn("jwt.secret is not set; using a random key, tokens will not survive a restart");
+            key = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            // RFC 7518 3.2: an HS256 key must be at least as long as the hash output
+            if (key.length < MIN_KEY_BYTES) {
+                throw new IllegalStateException("jwt.secret must be at least " + MIN_KEY_BYTES * 8
+                        + " bits (" + MIN_KEY_BYTES + " bytes) for HS256, got " + key.length + " bytes");
+            }
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(keySpec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "auth.tokens");
+    }
+
+    public String issue(String userName) {
+        long now = System.currentTimeMillis();
+        Map<String, Object> claims = Map.of(
+                "sub", userName,
+                "iat", now / 1000,
+                "exp", (now + expirationMillis) / 1000);
+        try {
+            String payload = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(claims));
+            String signingInput = HEADER + "." + payload;
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(signingInput));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to issue token", e);
+        }
+    }
+
+    /**
+     * @return the user name the token was issued to, or null if the token is invalid or expired
+     */
+    public String verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.subject();
+            }
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !token.startsWith(HEADER + ".")) {
+            return null;
+        }
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+                return null;
+            }
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, lastDot)));
+            long expiresAt = claims.path("exp").asLong() * 1000;
+            String subject = claims.path("sub").asText(null);
+            if (subject == null || expiresAt <= now) {
+                return null;
+            }
+            verifiedTokens.put(token, new VerifiedToken(subject, expiresAt));
+            return subject;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        return mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private record VerifiedToken(String subject, long expiresAt) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.lnh.skumanagement.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lnh.skumanagement.config.ReplicaRoutingDataSource;
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of SKU DTOs keyed by id and by SKU code.
+ * <p>
+ * Entries are invalidated after a change commits, under both the old and the new SKU code. Misses are
+ * loaded from the primary: a copy read from a lagging replica would be served to every client until it
+ * expired, long after the replica caught up.
+ * Cached instances are shared, so callers must not modify them.
+ */
+@Component
+public class SkuCache {
+
+    private final Cache<Long, Sku> byId;
+    private final Cache<String, Sku> byCode;
+
+    public SkuCache(MeterRegistry meterRegistry,
+                    @Value("${app.lnh.cache.sku.maximum-size:10000}") long maximumSize,
+                    @Value("${app.lnh.cache.sku.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.byCode = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "skus.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byCode, "skus.by-code");
+    }
+
+    public Sku getById(Long id, Function<Long, Sku> loader) {
+        return byId.get(id, key -> ReplicaRoutingDataSource.onPrimary(() -> loader.apply(key)));
+    }
+
+    public Sku getByCode(String skuCode, Function<String, Sku> loader) {
+        return byCode.get(skuCode, key -> ReplicaRoutingDataSource.onPrimary(() -> loader.apply(key)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkuChanged(SkuChangedEvent event) {
+        evict(event.getPrevious());
+        evict(event.getCurrent());
+    }
+
+    private void evict(Sku sku) {
+        if (sku != null) {
+            byId.invalidate(sku.getId());
+            byCode.invalidate(sku.getSkuCode());
+        }
+    }
+}
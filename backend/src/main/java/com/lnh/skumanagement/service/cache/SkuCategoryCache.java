@@ -0,0 +1,133 @@
+package com.lnh.skumanagement.service.cache;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuCategories;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.projection.CategoryCount;
+import com.lnh.skumanagement.service.snapshot.SkuSnapshotLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sorted set of categories with the number of SKUs referencing each one. A category appears when
+ * its first SKU is created and disappears when its last SKU leaves, without querying the table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkuCategoryCache {
+
+    private final SkuRepository skuRepository;
+    private final SkuSnapshotLoader skuSnapshotLoader;
+    /**
+     * Held across the reload query, so a lock rather than a monitor: a virtual thread blocked on JDBC
+     * inside {@code synchronized} would pin its carrier thread.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private TreeMap<String, Long> counts;
+    private SkuCategories snapshot;
+
+    /**
+     * Changes received while a reload query is running; those it did not see are replayed onto its result.
+     */
+    private List<SkuChangedEvent> pendingChanges;
+
+    public SkuCategories getCategories() {
+        SkuCategories current = currentSnapshot();
+        if (current == null) {
+            reload();
+            current = currentSnapshot();
+        }
+        if (current == null) {
+            throw new IllegalStateException("SKU categories are not available yet");
+        }
+        return current;
+    }
+
+    private synchronized SkuCategories currentSnapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.lnh.stats.reload-interval-ms:900000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                skuSnapshotLoader.load(this, () -> pendingChanges, this::loadCounts, (loaded, unseen) -> {
+                    unseen.forEach(event -> apply(loaded, event));
+                    pendingChanges = null;
+                    counts = loaded;
+                    snapshot = snapshotOf(loaded);
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                log.error("Failed to load SKU categories", e);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private TreeMap<String, Long> loadCounts() {
+        TreeMap<String, Long> loaded = new TreeMap<>();
+        for (CategoryCount count : skuRepository.findCategoryCounts()) {
+            loaded.put(count.getCategory(), count.getItems().longValue());
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSkuChanged(SkuChangedEvent event) {
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+        if (counts != null && apply(counts, event)) {
+            snapshot = snapshotOf(counts);
+        }
+    }
+
+    /**
+     * @return true if a category was added or removed
+     */
+    private boolean apply(TreeMap<String, Long> target, SkuChangedEvent event) {
+        String before = category(event.getPrevious());
+        String after = category(event.getCurrent());
+        if (before != null && before.equals(after)) {
+            return false;
+        }
+        boolean changed = false;
+        if (before != null) {
+            Long remaining = target.computeIfPresent(before, (category, count) -> count > 1 ? count - 1 : null);
+            changed = remaining == null;
+        }
+        if (after != null) {
+            changed |= target.merge(after, 1L, Long::sum) == 1L;
+        }
+        return changed;
+    }
+
+    private static String category(Sku sku) {
+        return sku == null ? null : sku.getCategory();
+    }
+
+    private static SkuCategories snapshotOf(TreeMap<String, Long> counts) {
+        List<String> categories = List.copyOf(counts.keySet());
+        String version = Integer.toHexString(categories.hashCode()) + "-" + categories.size();
+        return new SkuCategories(categories, version);
+    }
+}
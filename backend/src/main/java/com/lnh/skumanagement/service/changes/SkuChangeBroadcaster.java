@@ -0,0 +1,172 @@
+package com.lnh.skumanagement.service.changes;
+
+import com.lnh.skumanagement.model.SkuChanges;
+import com.lnh.skumanagement.service.SkuChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes the change feed to server-sent event subscribers. A single poller reads the change log
+ * once for all subscribers, which also picks up changes committed by other instances.
+ * <p>
+ * Each event carries the version as its id, so a reconnecting {@code EventSource} resumes from
+ * {@code Last-Event-ID}. Delivery is at least once; changes are idempotent upserts and deletes.
+ */
+@Component
+@Slf4j
+public class SkuChangeBroadcaster {
+
+    public static final String CHANGES_EVENT = "sku-changes";
+    public static final String RESET_EVENT = "reset";
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final SkuChangeService skuChangeService;
+    private final long timeoutMs;
+    private final int maxCatchUpPages;
+    private final long heartbeatMs;
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+    /**
+     * Guards {@link #version}; held across change log reads and a new subscriber's catch-up, so not a
+     * monitor. Broadcasts are sent after releasing it.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Version last broadcast to every subscriber; null while nobody is subscribed.
+     */
+    private Long version;
+    private volatile long lastSent;
+
+    public SkuChangeBroadcaster(SkuChangeService skuChangeService,
+                                @Value("${app.lnh.changes.stream-timeout-ms:1800000}") long timeoutMs,
+                                @Value("${app.lnh.changes.max-catch-up-pages:10}") int maxCatchUpPages,
+                                @Value("${app.lnh.changes.heartbeat-ms:15000}") long heartbeatMs) {
+        this.skuChangeService = skuChangeService;
+        this.timeoutMs = timeoutMs;
+        this.maxCatchUpPages = maxCatchUpPages;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    /**
+     * Subscribes to changes after {@code since}, or after the current version when null.
+     * Registration and catch-up happen under the poller's lock so no broadcast is missed.
+     */
+    public SseEmitter subscribe(Long since) {
+        lock.lock();
+        try {
+            SseEmitter emitter = new SseEmitter(timeoutMs);
+            emitter.onCompletion(() -> emitters.remove(emitter));
+            emitter.onTimeout(() -> emitters.remove(emitter));
+            emitter.onError(error -> emitters.remove(emitter));
+
+            if (version == null) {
+                version = skuChangeService.getChanges(null, 0).getVersion();
+                lastSent = System.currentTimeMillis();
+            }
+            if (since != null && !catchUp(emitter, since)) {
+                return emitter;
+            }
+            emitters.add(emitter);
+            return emitter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lnh.changes.poll-interval-ms:1000}")
+    public void poll() {
+        List<SkuChanges> batches = new ArrayList<>();
+        List<SseEmitter> recipients;
+        lock.lock();
+        try {
+            if (emitters.isEmpty()) {
+                version = null;
+                return;
+            }
+            boolean hasMore;
+            do {
+                SkuChanges changes = skuChangeService.getChanges(version, PAGE_SIZE);
+                if (changes.isReset() || !changes.getChanges().isEmpty()) {
+                    batches.add(changes);
+                }
+                version = changes.getVersion();
+                hasMore = changes.isHasMore();
+            } while (hasMore);
+            // Taken together with the version: a subscriber added after this caught up to it instead
+            recipients = List.copyOf(emitters);
+        } finally {
+            lock.unlock();
+        }
+
+        // Outside the lock, so a slow subscriber cannot hold up new subscriptions
+        for (SseEmitter emitter : recipients) {
+            for (SkuChanges changes : batches) {
+                if (!send(emitter, changes, changes.isReset() ? RESET_EVENT : CHANGES_EVENT)) {
+                    break;
+                }
+            }
+        }
+        if (System.currentTimeMillis() - lastSent >= heartbeatMs) {
+            recipients.stream().filter(emitters::contains).forEach(this::heartbeat);
+        }
+    }
+
+    private boolean catchUp(SseEmitter emitter, long since) {
+        SkuChanges changes;
+        int pages = 0;
+        do {
+            changes = skuChangeService.getChanges(since, PAGE_SIZE);
+            if (changes.isReset() || ++pages > maxCatchUpPages) {
+                // Too far behind to replay; the client reloads the list and resubscribes from here
+                SkuChanges reset = new SkuChanges(List.of(), version, false, true);
+                if (send(emitter, reset, RESET_EVENT)) {
+                    emitter.complete();
+                }
+                return false;
+            }
+            if (!changes.getChanges().isEmpty() && !send(emitter, changes, CHANGES_EVENT)) {
+                return false;
+            }
+            since = changes.getVersion();
+        } while (changes.isHasMore());
+        return true;
+    }
+
+    private boolean send(SseEmitter emitter, SkuChanges changes, String eventName) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(changes.getVersion()))
+                    .name(eventName)
+                    .data(changes, MediaType.APPLICATION_JSON));
+            lastSent = System.currentTimeMillis();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping SKU change subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void heartbeat(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            lastSent = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.lnh.skumanagement.service.changes;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.SkuChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes every {@link SkuChangedEvent} to the {@code sku_changes} table in the transaction that
+ * made the change, so the log commits or rolls back with it. Changes are buffered per transaction
+ * and written as one JDBC batch just before commit.
+ */
+@Component
+@Slf4j
+public class SkuChangeLog {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sku_changes (sku_id, sku_code, change_type, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SkuChangeRepository skuChangeRepository;
+    private final Duration retention;
+
+    public SkuChangeLog(JdbcTemplate jdbcTemplate,
+                        SkuChangeRepository skuChangeRepository,
+                        @Value("${app.lnh.changes.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.skuChangeRepository = skuChangeRepository;
+        this.retention = retention;
+    }
+
+    @EventListener
+    public void onSkuChanged(SkuChangedEvent event) {
+        Sku sku = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+        PendingChange change = new PendingChange(sku.getId(), sku.getSkuCode(), event.getType());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(change));
+            return;
+        }
+        pendingChanges().add(change);
+    }
+
+    @Scheduled(fixedDelayString = "${app.lnh.changes.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        Long newest = skuChangeRepository.findNewestVersion();
+        if (newest == null) {
+            return;
+        }
+        // Kept whatever its age: with an empty log, a client could not tell that it missed purged changes
+        int purged = skuChangeRepository.deleteChangedBefore(LocalDateTime.now().minus(retention), newest);
+        if (purged > 0) {
+            log.info("Purged {} SKU change log entries older than {}", purged, retention);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PendingChange> pendingChanges() {
+        List<PendingChange> changes = (List<PendingChange>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            List<PendingChange> transactionChanges = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(transactionChanges);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SkuChangeLog.this);
+                }
+            });
+            changes = transactionChanges;
+        }
+        return changes;
+    }
+
+    private void write(List<PendingChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Stamped at write time, moments before commit, which is what the settle window relies on
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setLong(1, change.skuId());
+            ps.setString(2, change.skuCode());
+            ps.setString(3, change.type().name());
+            ps.setTimestamp(4, changedAt);
+        });
+    }
+
+    private record PendingChange(Long skuId, String skuCode, SkuChangedEvent.Type type) {
+    }
+}
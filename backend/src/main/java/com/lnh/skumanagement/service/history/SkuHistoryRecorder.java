@@ -0,0 +1,142 @@
+package com.lnh.skumanagement.service.history;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuHistoryEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind history of quantity and price changes. A committed change costs the request only
+ * an enqueue; a scheduled writer drains the queue into {@code sku_history} in JDBC batches.
+ * <p>
+ * The queue is bounded. When it is full, writers wait up to {@code offer-timeout} for room, which
+ * holds them to the rate the database absorbs; an entry that still does not fit is dropped and
+ * counted in {@code skus.history.dropped}. Entries still queued at shutdown are written first.
+ */
+@Component
+@Slf4j
+public class SkuHistoryRecorder {
+
+    private static final String INSERT_SQL = "INSERT INTO sku_history (sku_id, sku_code, change_type, "
+            + "quantity_before, quantity_after, price_before, price_after, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<SkuHistoryEntry> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Counter dropped;
+    private final AtomicLong droppedSinceFlush = new AtomicLong();
+    // One writer at a time, so entries are inserted, and numbered, in the order they were queued
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public SkuHistoryRecorder(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.lnh.history.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.lnh.history.batch-size:500}") int batchSize,
+                              @Value("${app.lnh.history.offer-timeout:50ms}") Duration offerTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.dropped = Counter.builder("skus.history.dropped")
+                .description("SKU history entries lost to a full queue or a failed write")
+                .register(meterRegistry);
+        Gauge.builder("skus.history.queued", queue, BlockingQueue::size)
+                .description("SKU history entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkuChanged(SkuChangedEvent event) {
+        Sku previous = event.getPrevious();
+        Sku current = event.getCurrent();
+        if (previous != null && current != null
+                && Objects.equals(previous.getQuantity(), current.getQuantity())
+                && Objects.equals(previous.getPrice(), current.getPrice())) {
+            return;
+        }
+        Sku sku = current != null ? current : previous;
+        SkuHistoryEntry entry = new SkuHistoryEntry(null, sku.getId(), sku.getSkuCode(), event.getType(),
+                previous == null ? null : previous.getQuantity(), current == null ? null : current.getQuantity(),
+                previous == null ? null : previous.getPrice(), current == null ? null : current.getPrice(),
+                LocalDateTime.now());
+        try {
+            if (!queue.offer(entry, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                drop(1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop(1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lnh.history.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<SkuHistoryEntry> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        long lost = droppedSinceFlush.getAndSet(0);
+        if (lost > 0) {
+            log.warn("Dropped {} SKU history entries since the last flush", lost);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void write(List<SkuHistoryEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getSkuId());
+                ps.setString(2, entry.getSkuCode());
+                ps.setString(3, entry.getType().name());
+                ps.setObject(4, entry.getQuantityBefore(), Types.INTEGER);
+                ps.setObject(5, entry.getQuantityAfter(), Types.INTEGER);
+                ps.setObject(6, entry.getPriceBefore(), Types.DOUBLE);
+                ps.setObject(7, entry.getPriceAfter(), Types.DOUBLE);
+                ps.setTimestamp(8, Timestamp.valueOf(entry.getChangedAt()));
+            });
+        } catch (DataAccessException e) {
+            // Retrying here would hold up everything queued behind this batch
+            log.error("Failed to write {} SKU history entries", batch.size(), e);
+            drop(batch.size());
+        }
+    }
+
+    private void drop(int entries) {
+        dropped.increment(entries);
+        droppedSinceFlush.addAndGet(entries);
+    }
+}
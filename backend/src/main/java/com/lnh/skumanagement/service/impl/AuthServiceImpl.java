@@ -5,77 +5,51 @@ import com.lnh.skumanagement.repository.AuthRepository;
 import com.lnh.skumanagement.repository.entity.LoginEntity;
 import com.lnh.skumanagement.repository.mapper.AuthEntityMapper;
 import com.lnh.skumanagement.service.AuthService;
+import com.lnh.skumanagement.service.auth.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthServiceImpl implements AuthService {
 
-    private static final int SALT_LENGTH = 16;
-    private static final int ITERATIONS = 10000;
-    private static final int KEY_LENGTH = 256;
-
     private final AuthRepository authRepository;
     private final AuthEntityMapper authEntityMapper;
+    private final PasswordHasher passwordHasher;
 
     @Override
     public void createUser(LoginRequest loginRequest) {
-        byte[] salt = generateSalt();
-        String hashedPassword = hashPassword(loginRequest.getPassword(), salt);
+        byte[] salt = passwordHasher.generateSalt();
+        String hashedPassword = passwordHasher.hash(loginRequest.getPassword(), salt).join();
         loginRequest.setPassword(hashedPassword);
         loginRequest.setPasswordSalt(Base64.getEncoder().encodeToString(salt));
         authRepository.save(authEntityMapper.toLoginEntity(loginRequest));
     }
 
     @Override
-    public boolean loginUser(LoginRequest loginRequest) {
+    public CompletableFuture<Boolean> loginUser(LoginRequest loginRequest) {
         return validatePassword(loginRequest.getUserName(),loginRequest.getPassword());
     }
 
-    private boolean validatePassword(String userName, String rawPassword) {
+    private CompletableFuture<Boolean> validatePassword(String userName, String rawPassword) {
         Optional<LoginEntity>  loginEntityOptional = authRepository.findByUserName(userName);
         if(loginEntityOptional.isPresent()) {
             LoginEntity loginEntity = loginEntityOptional.get();
             byte[] salt = Base64.getDecoder().decode(loginEntity.getPasswordSalt());
-            String hashedPassword = hashPassword(rawPassword, salt);
-            return hashedPassword.equals(loginEntity.getPassword());
-        }
-        return false;
-    }
-
-    private byte[] generateSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] salt = new byte[SALT_LENGTH];
-        random.nextBytes(salt);
-        return salt;
-    }
-
-    private String hashPassword(String password, byte[] salt) {
-        try {
-            KeySpec spec = new PBEKeySpec(
-                    password.toCharArray(),
-                    salt,
-                    ITERATIONS,
-                    KEY_LENGTH
-            );
-            SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            byte[] hash = factory.generateSecret(spec).getEncoded();
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            log.error("Error hashing password", e);
-            throw new RuntimeException("Error hashing password", e);
+            return passwordHasher.hash(rawPassword, salt)
+                    // Constant time, so response times do not reveal how much of the hash matched
+                    .thenApply(hashedPassword -> MessageDigest.isEqual(
+                            hashedPassword.getBytes(StandardCharsets.UTF_8),
+                            loginEntity.getPassword().getBytes(StandardCharsets.UTF_8)));
         }
+        return CompletableFuture.completedFuture(false);
     }
 }
@@ -0,0 +1,223 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.LowStockAlert;
+import com.lnh.skumanagement.model.LowStockAlerts;
+import com.lnh.skumanagement.model.LowStockNotification;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.service.LowStockService;
+import com.lnh.skumanagement.service.alerts.LowStockBroadcaster;
+import com.lnh.skumanagement.service.snapshot.SkuSnapshotLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Only the SKUs below their reorder threshold are held in memory, ranked by how far below they are.
+ * Every {@link SkuChangedEvent} moves at most one SKU in or out, and a move is a threshold crossing
+ * that is pushed to subscribers. A periodic reload reconciles changes made by other instances and
+ * notifies the crossings it finds.
+ */
+@Service
+@Slf4j
+public class LowStockServiceImpl implements LowStockService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final Comparator<LowStockAlert> FURTHEST_BELOW_FIRST =
+            Comparator.comparingInt((LowStockAlert alert) -> alert.getQuantity() - alert.getThreshold())
+                    .thenComparing(LowStockAlert::getId);
+
+    private final SkuRepository skuRepository;
+    private final SkuSnapshotLoader skuSnapshotLoader;
+    private final LowStockBroadcaster lowStockBroadcaster;
+    private final int defaultThreshold;
+    /**
+     * Not a monitor: the low-stock query runs while it is held and would pin a virtual thread.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private AlertIndex alerts;
+
+    /**
+     * Changes received while a reload query is running; those it did not see are replayed onto its
+     * result, so a SKU never goes back to a state older than the query's.
+     */
+    private List<SkuChangedEvent> pendingChanges;
+
+    public LowStockServiceImpl(SkuRepository skuRepository, SkuSnapshotLoader skuSnapshotLoader,
+                               LowStockBroadcaster lowStockBroadcaster,
+                               @Value("${app.lnh.stats.low-stock-threshold:50}") int defaultThreshold) {
+        this.skuRepository = skuRepository;
+        this.skuSnapshotLoader = skuSnapshotLoader;
+        this.lowStockBroadcaster = lowStockBroadcaster;
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    @Override
+    public LowStockAlerts getAlerts(String category, int limit) {
+        if (!isLoaded()) {
+            reload();
+        }
+        int pageSize = Math.max(0, Math.min(limit, MAX_LIMIT));
+        synchronized (this) {
+            if (alerts == null) {
+                throw new IllegalStateException("Low-stock alerts are not available yet");
+            }
+            if (category == null || category.isBlank()) {
+                return new LowStockAlerts(alerts.size(), alerts.ranked.stream().limit(pageSize).toList());
+            }
+            List<LowStockAlert> items = new ArrayList<>(Math.min(pageSize, alerts.size()));
+            long total = 0;
+            for (LowStockAlert alert : alerts.ranked) {
+                if (category.equalsIgnoreCase(alert.getCategory())) {
+                    total++;
+                    if (items.size() < pageSize) {
+                        items.add(alert);
+                    }
+                }
+            }
+            return new LowStockAlerts(total, items);
+        }
+    }
+
+    private synchronized boolean isLoaded() {
+        return alerts != null;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.lnh.alerts.reload-interval-ms:900000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                skuSnapshotLoader.load(this, () -> pendingChanges, this::loadAlerts, (loaded, unseen) -> {
+                    unseen.forEach(event -> apply(loaded, event));
+                    pendingChanges = null;
+                    if (alerts != null) {
+                        notifyDifferences(alerts, loaded);
+                    }
+                    alerts = loaded;
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                log.error("Failed to load low-stock alerts", e);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private AlertIndex loadAlerts() {
+        AlertIndex loaded = new AlertIndex();
+        skuRepository.findLowStock(defaultThreshold).forEach(loaded::add);
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSkuChanged(SkuChangedEvent event) {
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+        if (alerts != null) {
+            LowStockNotification notification = apply(alerts, event);
+            if (notification != null) {
+                lowStockBroadcaster.publish(List.of(notification), alerts.size());
+            }
+        }
+    }
+
+    /**
+     * Moves the changed SKU in or out of {@code target}; returns the crossing, if it was one.
+     */
+    private LowStockNotification apply(AlertIndex target, SkuChangedEvent event) {
+        Sku sku = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+        LowStockAlert before = target.remove(sku.getId());
+        LowStockAlert after = event.getCurrent() == null ? null : toAlert(event.getCurrent());
+        boolean low = after != null && after.getQuantity() < after.getThreshold();
+        if (low) {
+            target.add(after);
+        }
+        if (before == null && low) {
+            return new LowStockNotification(LowStockNotification.Type.LOW, after);
+        }
+        if (before != null && !low) {
+            return new LowStockNotification(LowStockNotification.Type.CLEARED, after != null ? after : before);
+        }
+        return null;
+    }
+
+    /**
+     * Crossings made outside this instance: SKUs that entered or left the index between two reloads.
+     */
+    private void notifyDifferences(AlertIndex previous, AlertIndex current) {
+        List<LowStockNotification> notifications = new ArrayList<>();
+        for (LowStockAlert alert : current.ranked) {
+            if (!previous.byId.containsKey(alert.getId())) {
+                notifications.add(new LowStockNotification(LowStockNotification.Type.LOW, alert));
+            }
+        }
+        for (LowStockAlert alert : previous.ranked) {
+            if (!current.byId.containsKey(alert.getId())) {
+                notifications.add(new LowStockNotification(LowStockNotification.Type.CLEARED, alert));
+            }
+        }
+        if (!notifications.isEmpty()) {
+            lowStockBroadcaster.publish(notifications, current.size());
+        }
+    }
+
+    private LowStockAlert toAlert(Sku sku) {
+        int quantity = sku.getQuantity() == null ? 0 : sku.getQuantity();
+        int threshold = Objects.requireNonNullElse(sku.getReorderThreshold(), defaultThreshold);
+        return new LowStockAlert(sku.getId(), sku.getSkuCode(), sku.getName(), sku.getCategory(),
+                sku.getSupplier(), quantity, threshold);
+    }
+
+    /**
+     * Alerts by id, plus the same alerts in rank order. Entries are replaced, never modified, so
+     * their rank key cannot change while they are in the set.
+     */
+    private static class AlertIndex {
+
+        private final Map<Long, LowStockAlert> byId = new HashMap<>();
+        private final NavigableSet<LowStockAlert> ranked = new TreeSet<>(FURTHEST_BELOW_FIRST);
+
+        void add(LowStockAlert alert) {
+            LowStockAlert replaced = byId.put(alert.getId(), alert);
+            if (replaced != null) {
+                ranked.remove(replaced);
+            }
+            ranked.add(alert);
+        }
+
+        LowStockAlert remove(Long id) {
+            LowStockAlert removed = byId.remove(id);
+            if (removed != null) {
+                ranked.remove(removed);
+            }
+            return removed;
+        }
+
+        int size() {
+            return byId.size();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuChange;
+import com.lnh.skumanagement.model.SkuChanges;
+import com.lnh.skumanagement.repository.SkuChangeRepository;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.entity.SkuChangeEntity;
+import com.lnh.skumanagement.service.SkuChangeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync over the {@code sku_changes} log. Each SKU appears once per response with its current
+ * state, so a client applies the changes as upserts and deletes keyed by id.
+ * <p>
+ * Versions are assigned when a transaction writes its changes but become visible when it commits,
+ * so a later version can be visible before an earlier one. Changes are only returned once they are
+ * older than the settle window, which stops a client from moving past a version still committing.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SkuChangeServiceImpl implements SkuChangeService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final SkuChangeRepository skuChangeRepository;
+    private final SkuRepository skuRepository;
+    private final long settleMs;
+
+    public SkuChangeServiceImpl(SkuChangeRepository skuChangeRepository,
+                                SkuRepository skuRepository,
+                                @Value("${app.lnh.changes.settle-ms:1000}") long settleMs) {
+        this.skuChangeRepository = skuChangeRepository;
+        this.skuRepository = skuRepository;
+        this.settleMs = settleMs;
+    }
+
+    @Override
+    public SkuChanges getChanges(Long since, int limit) {
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+        if (since == null) {
+            return new SkuChanges(List.of(), latestVersion(settledBefore), false, false);
+        }
+        // The purge keeps the newest entry, so an empty log never had one and any other version is gone
+        Long oldest = skuChangeRepository.findOldestVersion();
+        if (oldest == null ? since > 0 : since + 1 < oldest) {
+            return new SkuChanges(List.of(), latestVersion(settledBefore), false, true);
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SkuChangeEntity> entries = skuChangeRepository.findByIdGreaterThanAndChangedAtLessThanEqualOrderByIdAsc(
+                since, settledBefore, Limit.of(pageSize));
+        if (entries.isEmpty()) {
+            return new SkuChanges(List.of(), since, false, false);
+        }
+
+        // Keep the last entry per SKU, ordered by when it last changed
+        Map<Long, SkuChangeEntity> latest = new LinkedHashMap<>();
+        for (SkuChangeEntity entry : entries) {
+            latest.remove(entry.getSkuId());
+            latest.put(entry.getSkuId(), entry);
+        }
+        List<Long> liveIds = latest.values().stream()
+                .filter(entry -> entry.getChangeType() != SkuChangedEvent.Type.DELETED)
+                .map(SkuChangeEntity::getSkuId)
+                .toList();
+        Map<Long, Sku> current = skuRepository.findSkusByIdIn(liveIds).stream()
+                .collect(Collectors.toMap(Sku::getId, Function.identity()));
+
+        List<SkuChange> changes = new ArrayList<>(latest.size());
+        for (SkuChangeEntity entry : latest.values()) {
+            Sku sku = current.get(entry.getSkuId());
+            // A SKU deleted after this page was read is reported as deleted already
+            SkuChangedEvent.Type type = sku == null ? SkuChangedEvent.Type.DELETED : entry.getChangeType();
+            changes.add(new SkuChange(entry.getId(), type, entry.getSkuId(), entry.getSkuCode(), sku));
+        }
+        Long version = entries.get(entries.size() - 1).getId();
+        return new SkuChanges(changes, version, entries.size() == pageSize, false);
+    }
+
+    private Long latestVersion(LocalDateTime settledBefore) {
+        Long version = skuChangeRepository.findLatestVersion(settledBefore);
+        return version == null ? 0L : version;
+    }
+}
@@ -0,0 +1,131 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.service.SkuExportService;
+import com.lnh.skumanagement.util.CsvWriter;
+import com.lnh.skumanagement.util.SmartCapitalize;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CSV export read through a forward-only JDBC cursor and written row by row, so memory use does not
+ * depend on the number of rows and no entities are created. The cursor needs a transaction on
+ * PostgreSQL, where the fetch size is otherwise ignored and the whole result is buffered.
+ */
+@Service
+@RequiredArgsConstructor
+public class SkuExportServiceImpl implements SkuExportService {
+
+    private static final String SELECT_SQL = "SELECT id, sku_code, product_name, style_name, colour, description, "
+            + "quantity, reorder_threshold, price, category, supplier, size, created_at, updated_at FROM skus";
+
+    private static final List<String> CSV_COLUMNS = List.of("id", "skuCode", "name", "styleName", "colour",
+            "description", "quantity", "reorderThreshold", "price", "category", "supplier", "size", "createdAt",
+            "updatedAt");
+
+    // Lets Excel detect UTF-8; the CSV import skips it
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SmartCapitalize smartCapitalize;
+
+    @Value("${app.lnh.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCsv(List<String> categories, List<String> suppliers, OutputStream outputStream)
+            throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 1 << 16);
+        CsvWriter csv = new CsvWriter(writer);
+        writer.write(BYTE_ORDER_MARK);
+        for (String column : CSV_COLUMNS) {
+            csv.field(column);
+        }
+        csv.endRecord();
+
+        // Category is stored capitalized, as in the query endpoint; supplier is stored as entered
+        List<String> categoryValues = categories == null ? List.of()
+                : categories.stream().map(smartCapitalize::smartCapitalize).toList();
+        List<String> supplierValues = suppliers == null ? List.of() : suppliers;
+        List<String> parameters = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        appendIn(sql, parameters, "category", categoryValues);
+        appendIn(sql, parameters, "supplier", supplierValues);
+        sql.append(" ORDER BY id");
+
+        try {
+            jdbcTemplate.query(connection -> prepare(connection, sql.toString(), parameters), rs -> {
+                try {
+                    writeRow(csv, rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        csv.flush();
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, List<String> parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        // MySQL Connector/J only streams rows for this sentinel fetch size
+        boolean mysql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setString(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+
+    private static void appendIn(StringBuilder sql, List<String> parameters, String column, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        sql.append(parameters.isEmpty() ? " WHERE " : " AND ")
+                .append(column)
+                .append(" IN (")
+                .append(String.join(", ", Collections.nCopies(values.size(), "?")))
+                .append(')');
+        parameters.addAll(values);
+    }
+
+    private static void writeRow(CsvWriter csv, ResultSet rs) throws SQLException, IOException {
+        csv.field(rs.getLong(1));
+        for (int column = 2; column <= 6; column++) {
+            csv.field(rs.getString(column));
+        }
+        for (int column = 7; column <= 9; column++) {
+            csv.field(rs.getObject(column));
+        }
+        for (int column = 10; column <= 12; column++) {
+            csv.field(rs.getString(column));
+        }
+        csv.field(timestamp(rs.getTimestamp(13)));
+        csv.field(timestamp(rs.getTimestamp(14)));
+        csv.endRecord();
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.model.SkuHistoryEntry;
+import com.lnh.skumanagement.model.SkuHistoryPage;
+import com.lnh.skumanagement.repository.SkuHistoryRepository;
+import com.lnh.skumanagement.service.SkuHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class SkuHistoryServiceImpl implements SkuHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final SkuHistoryRepository skuHistoryRepository;
+
+    @Override
+    public SkuHistoryPage getHistory(Long skuId, Long before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<SkuHistoryEntry> entries = skuHistoryRepository.findHistory(skuId,
+                before == null ? Long.MAX_VALUE : before, Limit.of(pageSize));
+        Long nextCursor = entries.size() == pageSize ? entries.get(entries.size() - 1).getId() : null;
+        return new SkuHistoryPage(entries, nextCursor);
+    }
+}
@@ -0,0 +1,310 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.exception.BadRequestException;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuImportError;
+import com.lnh.skumanagement.model.SkuImportResult;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapper;
+import com.lnh.skumanagement.service.SkuImportService;
+import com.lnh.skumanagement.service.validation.SkuValidator;
+import com.lnh.skumanagement.util.CsvReader;
+import com.lnh.skumanagement.util.CsvWriter;
+import com.lnh.skumanagement.util.SmartCapitalize;
+import com.lnh.skumanagement.util.UniqueViolations;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk SKU import. Rows are normalized and validated like {@code createSku}, checked for duplicates
+ * with one query per batch and written with JDBC batch inserts, bypassing Hibernate's per-row
+ * IDENTITY inserts. Each batch commits on its own; a batch that hits a constraint violation is
+ * retried row by row so that only the offending rows are reported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkuImportServiceImpl implements SkuImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO skus (sku_code, product_name, style_name, colour, "
+            + "description, quantity, reorder_threshold, price, category, supplier, size, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> CSV_COLUMNS = List.of("skuCode", "name", "styleName", "colour",
+            "description", "quantity", "reorderThreshold", "price", "category", "supplier", "size");
+
+    private final SkuRepository skuRepository;
+    private final SkuEntityMapper skuEntityMapper;
+    private final SmartCapitalize smartCapitalize;
+    private final SkuValidator skuValidator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.lnh.import.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public SkuImportResult importSkus(List<Sku> skus) {
+        Import skuImport = new Import();
+        for (int i = 0; i < skus.size(); i++) {
+            skuImport.accept(i + 1, skus.get(i));
+        }
+        return skuImport.finish();
+    }
+
+    @Override
+    public SkuImportResult importCsv(InputStream csv) {
+        Import skuImport = new Import();
+        try {
+            CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+            String[] header = reader.next();
+            if (header == null) {
+                throw new BadRequestException("CSV file is empty");
+            }
+            // Excel's "CSV UTF-8" and the CSV export start the file with a byte order mark
+            if (header[0].startsWith("\uFEFF")) {
+                header[0] = header[0].substring(1);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim(), i);
+            }
+            if (!columns.containsKey("skuCode")) {
+                throw new BadRequestException("CSV header must contain the columns " + CSV_COLUMNS);
+            }
+
+            int row = 0;
+            String[] record;
+            while ((record = reader.next()) != null) {
+                row++;
+                if (record.length == 1 && record[0].isBlank()) {
+                    row--;
+                    continue;
+                }
+                try {
+                    skuImport.accept(row, toSku(record, columns));
+                } catch (NumberFormatException e) {
+                    skuImport.reject(row, column(record, columns, "skuCode"), "Invalid number: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Unable to read CSV file: " + e.getMessage());
+        }
+        return skuImport.finish();
+    }
+
+    private Sku toSku(String[] record, Map<String, Integer> columns) {
+        Sku sku = new Sku();
+        sku.setSkuCode(column(record, columns, "skuCode"));
+        sku.setName(column(record, columns, "name"));
+        sku.setStyleName(column(record, columns, "styleName"));
+        sku.setColour(column(record, columns, "colour"));
+        sku.setDescription(column(record, columns, "description"));
+        String quantity = column(record, columns, "quantity");
+        sku.setQuantity(quantity == null ? null : Integer.valueOf(quantity));
+        String reorderThreshold = column(record, columns, "reorderThreshold");
+        sku.setReorderThreshold(reorderThreshold == null ? null : Integer.valueOf(reorderThreshold));
+        String price = column(record, columns, "price");
+        sku.setPrice(price == null ? null : Double.valueOf(price));
+        sku.setCategory(column(record, columns, "category"));
+        sku.setSupplier(column(record, columns, "supplier"));
+        sku.setSize(column(record, columns, "size"));
+        return sku;
+    }
+
+    private static String column(String[] record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.length) {
+            return null;
+        }
+        // A CSV export guards formula-like text with a leading ', which is not part of the value
+        String value = CsvWriter.unguard(record[index].trim());
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Low-cardinality columns are capitalized column by column over the whole batch, so repeated values
+     * are normalized once. Names are mostly unique and are done row by row.
+     */
+    private void normalize(List<Sku> skus) {
+        for (Sku sku : skus) {
+            sku.setName(smartCapitalize.smartCapitalize(sku.getName()));
+        }
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getCategory, Sku::setCategory);
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getColour, Sku::setColour);
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getStyleName, Sku::setStyleName);
+        smartCapitalize.smartCapitalizeAll(skus, Sku::getSize, Sku::setSize);
+    }
+
+    private void insert(List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Sku sku = rows.get(i).sku();
+                        ps.setString(1, sku.getSkuCode());
+                        ps.setString(2, sku.getName());
+                        ps.setString(3, sku.getStyleName());
+                        ps.setString(4, sku.getColour());
+                        ps.setString(5, sku.getDescription());
+                        ps.setInt(6, sku.getQuantity());
+                        ps.setObject(7, sku.getReorderThreshold(), Types.INTEGER);
+                        ps.setDouble(8, sku.getPrice());
+                        ps.setString(9, sku.getCategory());
+                        ps.setString(10, sku.getSupplier());
+                        ps.setString(11, sku.getSize());
+                        ps.setTimestamp(12, timestamp);
+                        ps.setTimestamp(13, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+
+        // Generated ids let in-memory listeners (search index, cache, stats) see the new rows without a read-back
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < rows.size(); i++) {
+            Sku created = skuEntityMapper.copySku(rows.get(i).sku());
+            created.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            created.setCreatedAt(now);
+            created.setUpdatedAt(now);
+            created.setVersion(0L);
+            eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.CREATED, null, created));
+        }
+    }
+
+    /**
+     * A fixed message for the client; the driver's own text names tables, indexes and SQL, so it is only logged.
+     */
+    private static String rejection(ImportRow row, DataIntegrityViolationException e) {
+        if (UniqueViolations.isUniqueViolation(e)) {
+            return "SKU code already exists: " + row.sku().getSkuCode();
+        }
+        if (UniqueViolations.isNotNullViolation(e)) {
+            return "A required value is missing";
+        }
+        log.warn("SKU import row {} ({}) rejected by the database: {}", row.row(), row.sku().getSkuCode(),
+                e.getMostSpecificCause().getMessage());
+        return "Row violates a data constraint";
+    }
+
+    private record ImportRow(int row, Sku sku) {
+    }
+
+    /**
+     * State of one import run: accepted rows are buffered until a batch is full.
+     */
+    private class Import {
+
+        private final SkuImportResult result = new SkuImportResult();
+        private final Set<String> seenSkuCodes = new HashSet<>();
+        private final List<ImportRow> batch = new ArrayList<>();
+
+        void accept(int row, Sku sku) {
+            result.setTotal(result.getTotal() + 1);
+            if (sku == null) {
+                result.getErrors().add(new SkuImportError(row, null, "Row is empty"));
+                return;
+            }
+            if (sku.getSkuCode() != null) {
+                sku.setSkuCode(sku.getSkuCode().trim());
+            }
+            String error = skuValidator.violations(sku);
+            if (error != null) {
+                result.getErrors().add(new SkuImportError(row, sku.getSkuCode(), error));
+                return;
+            }
+            if (!seenSkuCodes.add(sku.getSkuCode())) {
+                result.getErrors().add(new SkuImportError(row, sku.getSkuCode(), "Duplicate SKU code in import"));
+                return;
+            }
+            batch.add(new ImportRow(row, sku));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int row, String skuCode, String message) {
+            result.setTotal(result.getTotal() + 1);
+            result.getErrors().add(new SkuImportError(row, skuCode, message));
+        }
+
+        SkuImportResult finish() {
+            flush();
+            result.getErrors().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+            log.info("SKU import finished: {} of {} rows imported", result.getImported(), result.getTotal());
+            return result;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Set<String> existing = skuRepository.findExistingSkuCodes(
+                    batch.stream().map(row -> row.sku().getSkuCode()).toList());
+            List<ImportRow> rows = new ArrayList<>(batch.size());
+            for (ImportRow row : batch) {
+                if (existing.contains(row.sku().getSkuCode())) {
+                    result.getErrors().add(new SkuImportError(row.row(), row.sku().getSkuCode(),
+                            "SKU code already exists: " + row.sku().getSkuCode()));
+                } else {
+                    rows.add(row);
+                }
+            }
+            batch.clear();
+            if (rows.isEmpty()) {
+                return;
+            }
+            normalize(rows.stream().map(ImportRow::sku).toList());
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(rows));
+                result.setImported(result.getImported() + rows.size());
+            } catch (DataIntegrityViolationException e) {
+                // Typically a concurrent insert of the same code; isolate the offending rows
+                for (ImportRow row : rows) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                        result.setImported(result.getImported() + 1);
+                    } catch (DataIntegrityViolationException rowException) {
+                        result.getErrors().add(new SkuImportError(row.row(), row.sku().getSkuCode(),
+                                rejection(row, rowException)));
+                    }
+                }
+            }
+        }
+    }
+}
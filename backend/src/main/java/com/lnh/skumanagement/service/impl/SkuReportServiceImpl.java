@@ -0,0 +1,38 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.exception.BadRequestException;
+import com.lnh.skumanagement.model.RollupDimension;
+import com.lnh.skumanagement.model.SkuRollup;
+import com.lnh.skumanagement.repository.SkuRollupRepository;
+import com.lnh.skumanagement.service.SkuReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class SkuReportServiceImpl implements SkuReportService {
+
+    private static final int DEFAULT_DAYS = 30;
+    private static final int MAX_DAYS = 366;
+
+    private final SkuRollupRepository skuRollupRepository;
+
+    @Override
+    public List<SkuRollup> getDailyRollups(RollupDimension dimension, LocalDate from, LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(DEFAULT_DAYS) : from;
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new BadRequestException("At most " + MAX_DAYS + " days can be requested at once");
+        }
+        return skuRollupRepository.findRollups(dimension, start, end);
+    }
+}
@@ -1,105 +1,435 @@
 package com.lnh.skumanagement.service.impl;
 
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.exception.BadRequestException;
 import com.lnh.skumanagement.exception.DuplicateResourceException;
+import com.lnh.skumanagement.exception.PreconditionFailedException;
 import com.lnh.skumanagement.exception.ResourceNotFoundException;
 import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuCategories;
+import com.lnh.skumanagement.model.SkuPage;
+import com.lnh.skumanagement.model.SkuQuery;
+import com.lnh.skumanagement.model.SkuQueryPage;
+import com.lnh.skumanagement.model.SkuSortField;
 import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
 import com.lnh.skumanagement.repository.mapper.SkuEntityMapper;
+import com.lnh.skumanagement.repository.specification.SkuSpecifications;
 import com.lnh.skumanagement.service.SkuService;
+import com.lnh.skumanagement.service.cache.SkuCache;
+import com.lnh.skumanagement.service.cache.SkuCategoryCache;
+import com.lnh.skumanagement.service.search.SkuSearchHits;
+import com.lnh.skumanagement.service.search.SkuSearchIndex;
+import com.lnh.skumanagement.service.validation.SkuValidator;
 import com.lnh.skumanagement.util.SmartCapitalize;
+import com.lnh.skumanagement.util.UniqueViolations;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class SkuServiceImpl implements SkuService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    /**
+     * Search pages end here; deeper pages would make the index rank that many matches per request.
+     */
+    private static final int MAX_SEARCH_RESULTS = 10_000;
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final List<String> SKU_FIELDS = List.of("id", "skuCode", "name", "styleName", "colour",
+            "description", "quantity", "reorderThreshold", "price", "category", "supplier", "size", "createdAt",
+            "updatedAt", "version");
+
     private final SkuRepository skuRepository;
     private final SkuEntityMapper skuEntityMapper;
     private final SmartCapitalize smartCapitalize;
+    private final EntityManager entityManager;
+    private final SkuSearchIndex skuSearchIndex;
+    private final SkuCache skuCache;
+    private final SkuCategoryCache skuCategoryCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final SkuValidator skuValidator;
     
     @Override
+    @Transactional(readOnly = true)
     public List<Sku> getAllSkus() {
-        return skuEntityMapper.toSkuList(skuRepository.findAll());
+        return recordResultSize("findAll", skuRepository.findAllSkus());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllSkus(List<String> fields) {
+        List<String> selected = fields.stream()
+                .flatMap(field -> Arrays.stream(field.split(",")))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+        if (selected.isEmpty() || !SKU_FIELDS.containsAll(selected)) {
+            throw new BadRequestException("fields must be a subset of " + SKU_FIELDS);
+        }
+        // Field names are checked against SKU_FIELDS above, so they are safe to put in the query
+        String jpql = selected.stream()
+                .map(field -> "s." + field)
+                .collect(Collectors.joining(", ", "SELECT ", " FROM SkuEntity s ORDER BY s.id"));
+        List<Tuple> rows = entityManager.createQuery(jpql, Tuple.class).getResultList();
+        List<Map<String, Object>> skus = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> sku = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                sku.put(selected.get(i), row.get(i));
+            }
+            skus.add(sku);
+        }
+        return recordResultSize("findAllFields", skus);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SkuPage getSkuPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Sku> skus = skuRepository.findSkuPage(afterId == null ? 0L : afterId, Limit.of(pageSize));
+        Long nextCursor = skus.size() == pageSize ? skus.get(skus.size() - 1).getId() : null;
+        return new SkuPage(recordResultSize("page", skus), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllSkus(Consumer<Sku> consumer) {
+        try (Stream<SkuEntity> skuEntities = skuRepository.streamAll()) {
+            skuEntities.forEach(skuEntity -> {
+                consumer.accept(skuEntityMapper.toSku(skuEntity));
+                // Keep the persistence context empty so memory does not grow with the table
+                entityManager.detach(skuEntity);
+            });
+        }
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Sku getSkuById(Long id) {
-        return skuEntityMapper.toSku(skuRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("SKU not found with id: " + id)));
+        return skuCache.getById(id, this::loadSku);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Sku getSkuByCode(String skuCode) {
-        return skuEntityMapper.toSku(skuRepository.findBySkuCode(skuCode)
-                .orElseThrow(() -> new ResourceNotFoundException("SKU not found with code: " + skuCode)));
+        return skuCache.getByCode(skuCode, code -> skuEntityMapper.toSku(skuRepository.findBySkuCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("SKU not found with code: " + code))));
     }
     
     @Override
     public Sku createSku(Sku sku) {
-        if (skuRepository.findBySkuCode(sku.getSkuCode()).isPresent()) {
+        skuValidator.validate(sku);
+        Sku created = insert(sku);
+        if (created == null) {
             throw new DuplicateResourceException("SKU code already exists: " + sku.getSkuCode());
         }
+        eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.CREATED, null, created));
+        return created;
+    }
 
-        sku.setCategory(smartCapitalize.smartCapitalize(sku.getCategory()));
-        sku.setName(smartCapitalize.smartCapitalize(sku.getName()));
-        sku.setColour(smartCapitalize.smartCapitalize(sku.getColour()));
-        sku.setStyleName(smartCapitalize.smartCapitalize(sku.getStyleName()));
-        sku.setSize(smartCapitalize.smartCapitalize(sku.getSize()));
-
-        return skuEntityMapper.toSku(skuRepository.save(skuEntityMapper.toSkuEntity(sku)));
+    @Override
+    public Sku upsertSku(String skuCode, Sku skuDetails) {
+        skuDetails.setSkuCode(skuCode);
+        skuValidator.validate(skuDetails);
+        Sku previous = skuCache.getByCode(skuCode, this::findSkuByCode);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (previous == null) {
+                Sku created = insert(skuDetails);
+                if (created != null) {
+                    eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.CREATED, null, created));
+                    return created;
+                }
+            } else {
+                Sku sku = applyDetails(previous, skuDetails);
+                if (tryUpdate(sku, previous.getVersion())) {
+                    sku.setVersion(previous.getVersion() + 1);
+                    eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.UPDATED, previous, sku));
+                    return sku;
+                }
+            }
+            // Cached state was behind another instance, or a concurrent write got in first
+            previous = findSkuByCode(skuCode);
+        }
+        throw new PreconditionFailedException("SKU " + skuCode + " was modified concurrently");
     }
     
     @Override
-    public Sku updateSku(Long id, Sku skuDetails) {
-        Sku sku = getSkuById(id);
-        
-        // Check if SKU code is being changed and if it conflicts with existing
-        if (!sku.getSkuCode().equals(skuDetails.getSkuCode())) {
-            if (skuRepository.findBySkuCode(skuDetails.getSkuCode()).isPresent()) {
-                throw new DuplicateResourceException("SKU code already exists: " + skuDetails.getSkuCode());
+    public Sku updateSku(Long id, Sku skuDetails, Long expectedVersion) {
+        skuValidator.validate(skuDetails);
+        Sku previous = currentSku(id, expectedVersion);
+        Sku sku = applyDetails(previous, skuDetails);
+        if (!tryUpdate(sku, previous.getVersion())) {
+            // Cached state was behind another instance, or a concurrent write got in first
+            previous = loadSku(id);
+            checkVersion(previous, expectedVersion);
+            sku = applyDetails(previous, skuDetails);
+            if (!tryUpdate(sku, previous.getVersion())) {
+                throw new PreconditionFailedException("SKU " + id + " was modified concurrently");
             }
         }
-        
-        sku.setSkuCode(skuDetails.getSkuCode());
-        sku.setName(smartCapitalize.smartCapitalize(skuDetails.getName()));
-        sku.setDescription(skuDetails.getDescription());
-        sku.setQuantity(skuDetails.getQuantity());
-        sku.setPrice(skuDetails.getPrice());
-        sku.setCategory(smartCapitalize.smartCapitalize(skuDetails.getCategory()));
-        sku.setSupplier(skuDetails.getSupplier());
-        sku.setStyleName(smartCapitalize.smartCapitalize(skuDetails.getStyleName()));
-        sku.setColour(smartCapitalize.smartCapitalize(skuDetails.getColour()));
-        sku.setSize(smartCapitalize.smartCapitalize(skuDetails.getSize()));
-        
-        return skuEntityMapper.toSku(skuRepository.save(skuEntityMapper.toSkuEntity(sku)));
+        sku.setVersion(previous.getVersion() + 1);
+        eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.UPDATED, previous, sku));
+        return sku;
     }
     
     @Override
-    public void deleteSku(Long id) {
-        Sku sku = getSkuById(id);
-        skuRepository.delete(skuEntityMapper.toSkuEntity(sku));
+    public void deleteSku(Long id, Long expectedVersion) {
+        Sku sku = currentSku(id, expectedVersion);
+        if (skuRepository.deleteIfVersion(id, sku.getVersion()) == 0) {
+            sku = loadSku(id);
+            checkVersion(sku, expectedVersion);
+            if (skuRepository.deleteIfVersion(id, sku.getVersion()) == 0) {
+                throw new PreconditionFailedException("SKU " + id + " was modified concurrently");
+            }
+        }
+        eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.DELETED, sku, null));
     }
     
     @Override
-    public List<Sku> searchSkus(String searchTerm) {
+    @Transactional(readOnly = true)
+    public List<Sku> searchSkus(String searchTerm, int page, int size) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllSkus();
         }
-        return skuEntityMapper.toSkuList(skuRepository.searchSkus(searchTerm));
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        long offset = (long) pageNumber * pageSize;
+        if (offset + pageSize > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_SEARCH_RESULTS
+                    + " matches; refine the search term");
+        }
+        if (!skuSearchIndex.isReady()) {
+            return recordResultSize("searchSkus",
+                    skuRepository.searchSkus(searchTerm.trim(), PageRequest.of(pageNumber, pageSize)));
+        }
+
+        SkuSearchHits hits = skuSearchIndex.search(searchTerm, (int) offset, pageSize);
+        Map<Long, Sku> skusById = skuRepository.findSkusByIdIn(hits.getIds()).stream()
+                .collect(Collectors.toMap(Sku::getId, Function.identity()));
+        // Keep the index ranking; ids deleted since the search simply drop out
+        return recordResultSize("searchSkus", hits.getIds().stream()
+                .map(skusById::get)
+                .filter(Objects::nonNull)
+                .toList());
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Sku> getSkusByCategory(String category) {
-        return skuEntityMapper.toSkuList(skuRepository.findByCategory(category));
+        return recordResultSize("findByCategory", skuRepository.findSkusByCategory(category));
     }
     
     @Override
-    public List<String> getAllCategories() {
-        return skuRepository.findAllCategories();
+    @Transactional(readOnly = true)
+    public SkuQueryPage querySkus(SkuQuery query) {
+        int pageSize = Math.max(1, Math.min(query.getLimit(), MAX_PAGE_SIZE));
+        SkuSortField sortField = query.getSort() == null ? SkuSortField.ID : SkuSortField.fromParameter(query.getSort());
+        if (sortField == null) {
+            throw new BadRequestException("Unsupported sort: " + query.getSort());
+        }
+        boolean descending = query.isDescending();
+
+        // Filter values are matched the way createSku stores them
+        Specification<SkuEntity> specification = Specification.allOf(
+                SkuSpecifications.in("category", capitalize(query.getCategory())),
+                SkuSpecifications.in("styleName", capitalize(query.getStyleName())),
+                SkuSpecifications.in("colour", capitalize(query.getColour())),
+                SkuSpecifications.in("size", capitalize(query.getSize())),
+                SkuSpecifications.in("supplier", query.getSupplier()),
+                SkuSpecifications.between("price", query.getMinPrice(), query.getMaxPrice()),
+                SkuSpecifications.between("quantity", query.getMinQuantity(), query.getMaxQuantity()));
+        if (query.getAfter() != null && !query.getAfter().isBlank()) {
+            specification = specification.and(afterCursor(query.getAfter(), sortField, descending));
+        }
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = sortField == SkuSortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField.getProperty(), "id");
+        List<Sku> skus = skuRepository.findSkus(specification, sort, pageSize);
+        String nextCursor = skus.size() == pageSize
+                ? cursor(skus.get(skus.size() - 1), sortField, descending)
+                : null;
+        return new SkuQueryPage(recordResultSize("query", skus), nextCursor);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SkuCategories getAllCategories() {
+        // Served from memory; a transaction here would take a pooled connection for nothing
+        return skuCategoryCache.getCategories();
+    }
+
+    private <T> List<T> recordResultSize(String operation, List<T> results) {
+        DistributionSummary.builder("skus.result.size")
+                .description("SKUs returned per list call")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(results.size());
+        return results;
+    }
+
+    private List<String> capitalize(List<String> values) {
+        return values == null ? null : values.stream().map(smartCapitalize::smartCapitalize).toList();
+    }
+
+    /**
+     * Cursors are {@code field|direction|value|id}, base64url encoded; values may contain the separator.
+     */
+    private String cursor(Sku last, SkuSortField sortField, boolean descending) {
+        Object value = switch (sortField) {
+            case ID -> last.getId();
+            case SKU_CODE -> last.getSkuCode();
+            case NAME -> last.getName();
+            case CATEGORY -> last.getCategory();
+            case PRICE -> last.getPrice();
+            case QUANTITY -> last.getQuantity();
+            case UPDATED_AT -> last.getUpdatedAt();
+        };
+        String cursor = sortField.name() + CURSOR_SEPARATOR + (descending ? "desc" : "asc")
+                + CURSOR_SEPARATOR + value + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<SkuEntity> afterCursor(String cursor, SkuSortField sortField, boolean descending) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        String expectedPrefix = sortField.name() + CURSOR_SEPARATOR + (descending ? "desc" : "asc") + CURSOR_SEPARATOR;
+        int idSeparator = decoded.lastIndexOf(CURSOR_SEPARATOR);
+        if (!decoded.startsWith(expectedPrefix) || idSeparator < expectedPrefix.length() - 1) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        String value = decoded.substring(expectedPrefix.length(), idSeparator);
+        try {
+            Long id = Long.valueOf(decoded.substring(idSeparator + 1));
+            String property = sortField.getProperty();
+            return switch (sortField) {
+                case ID -> SkuSpecifications.afterId(id, descending);
+                case SKU_CODE, NAME, CATEGORY -> SkuSpecifications.after(property, value, id, descending);
+                case PRICE -> SkuSpecifications.after(property, Double.valueOf(value), id, descending);
+                case QUANTITY -> SkuSpecifications.after(property, Integer.valueOf(value), id, descending);
+                case UPDATED_AT -> SkuSpecifications.after(property, LocalDateTime.parse(value), id, descending);
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * State the conditional write is based on. The cache is exact for its version, since every write
+     * bumps the version; it is only bypassed when it cannot be the version the client expects.
+     */
+    private Sku currentSku(Long id, Long expectedVersion) {
+        Sku sku = skuCache.getById(id, this::loadSku);
+        if (expectedVersion != null && !expectedVersion.equals(sku.getVersion())) {
+            sku = loadSku(id);
+        }
+        checkVersion(sku, expectedVersion);
+        return sku;
+    }
+
+    private void checkVersion(Sku sku, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(sku.getVersion())) {
+            throw new PreconditionFailedException("SKU " + sku.getId() + " is at version " + sku.getVersion()
+                    + ", not " + expectedVersion);
+        }
+    }
+
+    private Sku applyDetails(Sku previous, Sku skuDetails) {
+        Sku sku = skuEntityMapper.copySku(previous);
+        sku.setSkuCode(skuDetails.getSkuCode());
+        sku.setName(smartCapitalize.smartCapitalize(skuDetails.getName()));
+        sku.setDescription(skuDetails.getDescription());
+        sku.setQuantity(skuDetails.getQuantity());
+        sku.setReorderThreshold(skuDetails.getReorderThreshold());
+        sku.setPrice(skuDetails.getPrice());
+        sku.setCategory(smartCapitalize.smartCapitalize(skuDetails.getCategory()));
+        sku.setSupplier(skuDetails.getSupplier());
+        sku.setStyleName(smartCapitalize.smartCapitalize(skuDetails.getStyleName()));
+        sku.setColour(smartCapitalize.smartCapitalize(skuDetails.getColour()));
+        sku.setSize(smartCapitalize.smartCapitalize(skuDetails.getSize()));
+        sku.setUpdatedAt(LocalDateTime.now());
+        return sku;
+    }
+
+    private boolean tryUpdate(Sku sku, Long version) {
+        try {
+            return skuRepository.updateIfVersion(sku, version) > 0;
+        } catch (DataIntegrityViolationException e) {
+            // The unique index on sku_code replaces a lookup before every rename
+            if (UniqueViolations.isUniqueViolation(e)) {
+                throw new DuplicateResourceException("SKU code already exists: " + sku.getSkuCode());
+            }
+            throw new BadRequestException("SKU " + sku.getId() + " violates a data constraint");
+        }
+    }
+
+    /**
+     * Normalizes and inserts in one statement; the unique index on sku_code rejects duplicates,
+     * concurrent ones included. Returns null when the code is taken.
+     */
+    private Sku insert(Sku sku) {
+        Sku created = skuEntityMapper.copySku(sku);
+        created.setCategory(smartCapitalize.smartCapitalize(sku.getCategory()));
+        created.setName(smartCapitalize.smartCapitalize(sku.getName()));
+        created.setColour(smartCapitalize.smartCapitalize(sku.getColour()));
+        created.setStyleName(smartCapitalize.smartCapitalize(sku.getStyleName()));
+        created.setSize(smartCapitalize.smartCapitalize(sku.getSize()));
+        LocalDateTime now = LocalDateTime.now();
+        created.setCreatedAt(now);
+        created.setUpdatedAt(now);
+        created.setVersion(0L);
+
+        Long id = skuRepository.insertIfAbsent(created);
+        if (id == null) {
+            return null;
+        }
+        created.setId(id);
+        return created;
+    }
+
+    private Sku findSkuByCode(String skuCode) {
+        return skuRepository.findBySkuCode(skuCode).map(skuEntityMapper::toSku).orElse(null);
+    }
+
+    private Sku loadSku(Long id) {
+        return skuEntityMapper.toSku(skuRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("SKU not found with id: " + id)));
     }
 }
@@ -0,0 +1,162 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.CategoryStats;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.SkuStats;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.projection.CategoryTotals;
+import com.lnh.skumanagement.service.SkuStatsService;
+import com.lnh.skumanagement.service.snapshot.SkuSnapshotLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard aggregates held in memory and adjusted by every {@link SkuChangedEvent}, so reading
+ * them costs nothing per SKU. A periodic reload from a single GROUP BY query reconciles changes made
+ * by other instances.
+ */
+@Service
+@Slf4j
+public class SkuStatsServiceImpl implements SkuStatsService {
+
+    private final SkuRepository skuRepository;
+    private final SkuSnapshotLoader skuSnapshotLoader;
+    private final int lowStockThreshold;
+    /**
+     * Not a monitor: the totals query runs while it is held and would pin a virtual thread.
+     */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private Map<String, CategoryStats> categories;
+
+    /**
+     * Changes received while a reload query is running; those it did not see are replayed onto its result.
+     */
+    private List<SkuChangedEvent> pendingChanges;
+
+    public SkuStatsServiceImpl(SkuRepository skuRepository, SkuSnapshotLoader skuSnapshotLoader,
+                               @Value("${app.lnh.stats.low-stock-threshold:50}") int lowStockThreshold) {
+        this.skuRepository = skuRepository;
+        this.skuSnapshotLoader = skuSnapshotLoader;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    @Override
+    public SkuStats getStats() {
+        if (!isLoaded()) {
+            reload();
+        }
+        synchronized (this) {
+            if (categories == null) {
+                throw new IllegalStateException("SKU statistics are not available yet");
+            }
+            return snapshot();
+        }
+    }
+
+    private synchronized boolean isLoaded() {
+        return categories != null;
+    }
+
+    private SkuStats snapshot() {
+        long totalItems = 0;
+        long totalQuantity = 0;
+        long lowStock = 0;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        Map<String, CategoryStats> snapshot = new TreeMap<>();
+        for (Map.Entry<String, CategoryStats> entry : categories.entrySet()) {
+            CategoryStats stats = entry.getValue();
+            totalItems += stats.getItems();
+            totalQuantity += stats.getQuantity();
+            lowStock += stats.getLowStock();
+            totalValue = totalValue.add(stats.getValue());
+            snapshot.put(entry.getKey(), new CategoryStats(stats.getItems(), stats.getQuantity(),
+                    stats.getValue(), stats.getLowStock()));
+        }
+        return new SkuStats(totalItems, totalQuantity, totalValue, lowStock, lowStockThreshold, snapshot);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.lnh.stats.reload-interval-ms:900000}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                skuSnapshotLoader.load(this, () -> pendingChanges, this::loadCategories, (loaded, unseen) -> {
+                    unseen.forEach(event -> apply(loaded, event));
+                    pendingChanges = null;
+                    categories = loaded;
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                log.error("Failed to load SKU statistics", e);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Map<String, CategoryStats> loadCategories() {
+        Map<String, CategoryStats> loaded = new TreeMap<>();
+        for (CategoryTotals totals : skuRepository.findCategoryTotals(lowStockThreshold)) {
+            loaded.put(totals.getCategory(), new CategoryStats(
+                    totals.getItems().longValue(),
+                    totals.getQuantity() == null ? 0 : totals.getQuantity().longValue(),
+                    totals.getValue() == null ? BigDecimal.ZERO : new BigDecimal(totals.getValue().toString()),
+                    totals.getLowStock() == null ? 0 : totals.getLowStock().longValue()));
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSkuChanged(SkuChangedEvent event) {
+        if (pendingChanges != null) {
+            pendingChanges.add(event);
+        }
+        if (categories != null) {
+            apply(categories, event);
+        }
+    }
+
+    private void apply(Map<String, CategoryStats> target, SkuChangedEvent event) {
+        if (event.getPrevious() != null) {
+            add(target, event.getPrevious(), -1);
+        }
+        if (event.getCurrent() != null) {
+            add(target, event.getCurrent(), 1);
+        }
+    }
+
+    private void add(Map<String, CategoryStats> target, Sku sku, int sign) {
+        CategoryStats stats = target.computeIfAbsent(sku.getCategory(),
+                category -> new CategoryStats(0, 0, BigDecimal.ZERO, 0));
+        int quantity = sku.getQuantity() == null ? 0 : sku.getQuantity();
+        BigDecimal value = sku.getPrice() == null ? BigDecimal.ZERO
+                : BigDecimal.valueOf(sku.getPrice()).multiply(BigDecimal.valueOf(quantity));
+        stats.setItems(stats.getItems() + sign);
+        stats.setQuantity(stats.getQuantity() + (long) sign * quantity);
+        stats.setValue(sign > 0 ? stats.getValue().add(value) : stats.getValue().subtract(value));
+        int threshold = sku.getReorderThreshold() == null ? lowStockThreshold : sku.getReorderThreshold();
+        if (quantity < threshold) {
+            stats.setLowStock(stats.getLowStock() + sign);
+        }
+        if (stats.getItems() <= 0) {
+            target.remove(sku.getCategory());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.lnh.skumanagement.service.impl;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.exception.BadRequestException;
+import com.lnh.skumanagement.exception.InsufficientStockException;
+import com.lnh.skumanagement.exception.ResourceNotFoundException;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.model.StockAdjustment;
+import com.lnh.skumanagement.model.StockAdjustmentResult;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapper;
+import com.lnh.skumanagement.service.StockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta-based stock changes. Each SKU is changed with a single conditional
+ * {@code quantity = quantity + delta} statement, so concurrent adjustments never overwrite each
+ * other and the non-negative quantity rule is enforced by the database row lock rather than by a
+ * prior read.
+ * <p>
+ * Whether an adjustment was refused is read from its update count. Drivers that answer a batch with
+ * {@link Statement#SUCCESS_NO_INFO} (e.g. MySQL with {@code rewriteBatchedStatements}) cannot tell, so
+ * the first batch runs behind a savepoint; if the counts are missing it is undone and run one statement
+ * per SKU, which is how every later call on such a driver runs too.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StockServiceImpl implements StockService {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final String ADJUST_SQL = "UPDATE skus SET quantity = quantity + ?, updated_at = ?, version = version + 1 "
+            + "WHERE sku_code = ? AND quantity + ? >= 0";
+
+    private final SkuRepository skuRepository;
+    private final SkuEntityMapper skuEntityMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Whether the driver reports an update count per statement in a batch; null until a batch showed it.
+     */
+    private volatile Boolean batchCountsReported;
+
+    @Override
+    public StockAdjustmentResult adjustStock(StockAdjustment adjustment) {
+        StockAdjustmentResult result = adjustStock(List.of(adjustment)).get(0);
+        switch (result.getStatus()) {
+            case NOT_FOUND -> throw new ResourceNotFoundException("SKU not found with code: " + result.getSkuCode());
+            case INSUFFICIENT_STOCK -> throw new InsufficientStockException(
+                    "Insufficient stock for SKU " + result.getSkuCode() + " to apply delta " + result.getDelta());
+            default -> {
+                return result;
+            }
+        }
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments) {
+        if (adjustments.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " adjustments are allowed per request");
+        }
+
+        // One statement per SKU, taken in code order so concurrent batches lock rows in the same order
+        Map<String, Integer> deltas = new TreeMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            if (adjustment == null || adjustment.getSkuCode() == null || adjustment.getSkuCode().isBlank()
+                    || adjustment.getDelta() == null) {
+                throw new BadRequestException("Every adjustment requires a skuCode and a delta");
+            }
+            try {
+                deltas.merge(adjustment.getSkuCode(), adjustment.getDelta(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new BadRequestException("Total delta for SKU " + adjustment.getSkuCode() + " is out of range");
+            }
+        }
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(deltas.entrySet());
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int[] counts = update(entries, now);
+
+        List<String> applied = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (counts[i] > 0) {
+                applied.add(entries.get(i).getKey());
+            } else {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+
+        // Rows changed above stay locked by this transaction, so this read sees exactly our result
+        Map<String, Sku> updated = applied.isEmpty() ? Map.of()
+                : skuEntityMapper.toSkuList(skuRepository.findBySkuCodeIn(applied)).stream()
+                .collect(Collectors.toMap(Sku::getSkuCode, Function.identity()));
+        Set<String> existing = rejected.isEmpty() ? Set.of() : skuRepository.findExistingSkuCodes(rejected);
+
+        List<StockAdjustmentResult> results = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Integer> entry : entries) {
+            String skuCode = entry.getKey();
+            int delta = entry.getValue();
+            Sku current = updated.get(skuCode);
+            if (current != null) {
+                Sku previous = skuEntityMapper.copySku(current);
+                previous.setQuantity(current.getQuantity() - delta);
+                previous.setVersion(current.getVersion() - 1);
+                eventPublisher.publishEvent(new SkuChangedEvent(SkuChangedEvent.Type.UPDATED, previous, current));
+                results.add(new StockAdjustmentResult(skuCode, delta, StockAdjustmentResult.Status.APPLIED,
+                        current.getQuantity()));
+            } else {
+                StockAdjustmentResult.Status status = existing.contains(skuCode)
+                        ? StockAdjustmentResult.Status.INSUFFICIENT_STOCK
+                        : StockAdjustmentResult.Status.NOT_FOUND;
+                results.add(new StockAdjustmentResult(skuCode, delta, status, null));
+            }
+        }
+        return results;
+    }
+
+    private int[] update(List<Map.Entry<String, Integer>> entries, Timestamp now) {
+        if (Boolean.FALSE.equals(batchCountsReported)) {
+            return updateEach(entries, now);
+        }
+        // On the transaction's connection; Hibernate's JpaDialect does not offer savepoints
+        Savepoint savepoint = batchCountsReported == null
+                ? jdbcTemplate.execute((ConnectionCallback<Savepoint>) connection -> connection.setSavepoint())
+                : null;
+        int[] counts = jdbcTemplate.batchUpdate(ADJUST_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setString(3, entry.getKey());
+            ps.setInt(4, entry.getValue());
+        })[0];
+        boolean reported = Arrays.stream(counts).noneMatch(count -> count == Statement.SUCCESS_NO_INFO);
+        if (savepoint == null) {
+            if (!reported) {
+                throw new IllegalStateException("Driver stopped reporting batch update counts");
+            }
+            return counts;
+        }
+        batchCountsReported = reported;
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (reported) {
+                connection.releaseSavepoint(savepoint);
+            } else {
+                connection.rollback(savepoint);
+            }
+            return null;
+        });
+        return reported ? counts : updateEach(entries, now);
+    }
+
+    private int[] updateEach(List<Map.Entry<String, Integer>> entries, Timestamp now) {
+        int[] counts = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, Integer> entry = entries.get(i);
+            counts[i] = jdbcTemplate.update(ADJUST_SQL, entry.getValue(), now, entry.getKey(), entry.getValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,313 @@
+package com.lnh.skumanagement.service.rollup;
+
+import com.lnh.skumanagement.model.RollupDimension;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the daily rollups in {@code sku_rollups} without aggregating {@code skus}. A run reads only
+ * the SKUs updated since the previous one (through the {@code updated_at} index) and the deletions
+ * in {@code sku_changes}, diffs them against what they contributed last time
+ * ({@code sku_rollup_state}), and folds the differences into today's rows. The first run of a day
+ * starts from a copy of the latest earlier day.
+ * <p>
+ * The watermark is moved back by {@code overlap} before use, so a transaction that was still
+ * committing when a run started is seen by the next one; the diff makes seeing a change twice
+ * harmless. With no watermark, or one older than the change log's retention, the run rebuilds
+ * today's rows from the whole table instead.
+ */
+@Component
+@Slf4j
+public class SkuRollupJob {
+
+    private static final long WATERMARK_ID = 1L;
+    // Group for SKUs without a category or supplier; the name is part of a unique key, so never null
+    private static final String NONE = "";
+
+    private static final String LOCK_SQL = "SELECT rolled_up_to FROM sku_rollup_watermark WHERE id = ? FOR UPDATE";
+    private static final String CHANGED_SQL = "SELECT id, category, supplier, quantity, price FROM skus "
+            + "WHERE updated_at > ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String ALL_SQL = "SELECT id, category, supplier, quantity, price FROM skus "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String DELETED_SQL = "SELECT DISTINCT sku_id FROM sku_changes "
+            + "WHERE change_type = 'DELETED' AND changed_at > ?";
+    private static final String STATE_SQL = "SELECT sku_id, category, supplier, quantity, price FROM sku_rollup_state "
+            + "WHERE sku_id IN (%s)";
+    private static final String CARRY_FORWARD_SQL = "INSERT INTO sku_rollups "
+            + "(dimension, rollup_day, name, items, quantity, total_value) "
+            + "SELECT dimension, ?, name, items, quantity, total_value FROM sku_rollups "
+            + "WHERE rollup_day = (SELECT MAX(rollup_day) FROM sku_rollups WHERE rollup_day < ?)";
+
+    private static final RowMapper<Contribution> CONTRIBUTION_MAPPER = (rs, rowNum) -> new Contribution(
+            rs.getLong(1), rs.getString(2), rs.getString(3),
+            rs.getObject(4, Integer.class), rs.getObject(5, Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration overlap;
+    private final Duration changeRetention;
+
+    public SkuRollupJob(JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${app.lnh.rollup.chunk-size:5000}") int chunkSize,
+                        @Value("${app.lnh.rollup.overlap:5m}") Duration overlap,
+                        @Value("${app.lnh.changes.retention:7d}") Duration changeRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.overlap = overlap;
+        this.changeRetention = changeRetention;
+    }
+
+    @Scheduled(initialDelayString = "${app.lnh.rollup.initial-delay-ms:60000}",
+            fixedDelayString = "${app.lnh.rollup.interval-ms:900000}")
+    public void run() {
+        run(false);
+    }
+
+    /**
+     * Recomputes today's rows from the whole table, for data written without a fresh
+     * {@code updated_at}, such as the generated catalogue.
+     */
+    public void rebuild() {
+        run(true);
+    }
+
+    private void run(boolean full) {
+        long start = System.nanoTime();
+        try {
+            RunResult result = transactionTemplate.execute(status -> rollUp(full));
+            log.info("SKU rollup ({}) applied {} changed and {} deleted SKUs in {} ms",
+                    result.full() ? "full" : "incremental", result.changed(), result.deleted(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("SKU rollup failed", e);
+        }
+    }
+
+    private RunResult rollUp(boolean forceFull) {
+        LocalDateTime runStart = LocalDateTime.now();
+        LocalDate today = runStart.toLocalDate();
+        List<LocalDateTime> watermarks = jdbcTemplate.query(LOCK_SQL,
+                (rs, rowNum) -> toLocalDateTime(rs.getTimestamp(1)), WATERMARK_ID);
+        if (watermarks.isEmpty()) {
+            // Held until commit, so a second instance waits here on its own insert and then fails
+            jdbcTemplate.update("INSERT INTO sku_rollup_watermark (id, rolled_up_to) VALUES (?, NULL)", WATERMARK_ID);
+        }
+        LocalDateTime watermark = watermarks.isEmpty() ? null : watermarks.get(0);
+        boolean full = forceFull || watermark == null || watermark.isBefore(runStart.minus(changeRetention));
+
+        Map<GroupKey, Totals> deltas = new HashMap<>();
+        int changed;
+        int deleted = 0;
+        if (full) {
+            jdbcTemplate.update("DELETE FROM sku_rollup_state");
+            jdbcTemplate.update("DELETE FROM sku_rollups WHERE rollup_day = ?", Date.valueOf(today));
+            changed = applyChanged(null, deltas);
+        } else {
+            LocalDateTime since = watermark.minus(overlap);
+            changed = applyChanged(since, deltas);
+            deleted = applyDeleted(since, deltas);
+            Integer todayRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sku_rollups WHERE rollup_day = ?",
+                    Integer.class, Date.valueOf(today));
+            if (todayRows == null || todayRows == 0) {
+                jdbcTemplate.update(CARRY_FORWARD_SQL, Date.valueOf(today), Date.valueOf(today));
+            }
+        }
+        writeRollups(today, deltas);
+        jdbcTemplate.update("UPDATE sku_rollup_watermark SET rolled_up_to = ? WHERE id = ?",
+                Timestamp.valueOf(runStart), WATERMARK_ID);
+        return new RunResult(full, changed, deleted);
+    }
+
+    /**
+     * Walks the SKUs updated after {@code since} (all of them when null) in id order, one chunk at a time.
+     */
+    private int applyChanged(LocalDateTime since, Map<GroupKey, Totals> deltas) {
+        int changed = 0;
+        long afterId = 0;
+        while (true) {
+            List<Contribution> chunk = since == null
+                    ? jdbcTemplate.query(ALL_SQL, CONTRIBUTION_MAPPER, afterId, chunkSize)
+                    : jdbcTemplate.query(CHANGED_SQL, CONTRIBUTION_MAPPER, Timestamp.valueOf(since), afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            Map<Long, Contribution> previous = since == null ? Map.of() : loadState(chunk.stream()
+                    .map(Contribution::skuId)
+                    .toList());
+            List<Contribution> inserts = new ArrayList<>();
+            List<Contribution> updates = new ArrayList<>();
+            for (Contribution current : chunk) {
+                Contribution before = previous.get(current.skuId());
+                if (current.equals(before)) {
+                    continue;
+                }
+                if (before == null) {
+                    inserts.add(current);
+                } else {
+                    add(deltas, before, -1);
+                    updates.add(current);
+                }
+                add(deltas, current, 1);
+            }
+            writeState(inserts, updates);
+            changed += inserts.size() + updates.size();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).skuId();
+        }
+        return changed;
+    }
+
+    private int applyDeleted(LocalDateTime since, Map<GroupKey, Totals> deltas) {
+        List<Long> ids = jdbcTemplate.queryForList(DELETED_SQL, Long.class, Timestamp.valueOf(since));
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            Collection<Contribution> removed = loadState(chunk).values();
+            for (Contribution before : removed) {
+                add(deltas, before, -1);
+            }
+            jdbcTemplate.batchUpdate("DELETE FROM sku_rollup_state WHERE sku_id = ?", removed, removed.size(),
+                    (ps, contribution) -> ps.setLong(1, contribution.skuId()));
+            deleted += removed.size();
+        }
+        return deleted;
+    }
+
+    private Map<Long, Contribution> loadState(List<Long> skuIds) {
+        String sql = String.format(STATE_SQL, String.join(", ", Collections.nCopies(skuIds.size(), "?")));
+        Map<Long, Contribution> state = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            Contribution contribution = CONTRIBUTION_MAPPER.mapRow(rs, 0);
+            state.put(contribution.skuId(), contribution);
+        }, skuIds.toArray());
+        return state;
+    }
+
+    private void writeState(List<Contribution> inserts, List<Contribution> updates) {
+        jdbcTemplate.batchUpdate("INSERT INTO sku_rollup_state (category, supplier, quantity, price, sku_id) "
+                + "VALUES (?, ?, ?, ?, ?)", inserts, inserts.size(), SkuRollupJob::setState);
+        jdbcTemplate.batchUpdate("UPDATE sku_rollup_state SET category = ?, supplier = ?, quantity = ?, price = ? "
+                + "WHERE sku_id = ?", updates, updates.size(), SkuRollupJob::setState);
+    }
+
+    private static void setState(PreparedStatement ps, Contribution contribution) throws SQLException {
+        ps.setString(1, contribution.category());
+        ps.setString(2, contribution.supplier());
+        ps.setObject(3, contribution.quantity(), Types.INTEGER);
+        ps.setObject(4, contribution.price(), Types.DOUBLE);
+        ps.setLong(5, contribution.skuId());
+    }
+
+    /**
+     * Applies the deltas to today's rows, which at this point hold yesterday's totals or nothing.
+     */
+    private void writeRollups(LocalDate today, Map<GroupKey, Totals> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<GroupKey, Long> ids = new HashMap<>();
+        Map<GroupKey, Totals> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT id, dimension, name, items, quantity, total_value FROM sku_rollups "
+                + "WHERE rollup_day = ?", rs -> {
+            GroupKey key = new GroupKey(RollupDimension.valueOf(rs.getString(2)), rs.getString(3));
+            ids.put(key, rs.getLong(1));
+            totals.put(key, new Totals(rs.getLong(4), rs.getLong(5), rs.getBigDecimal(6)));
+        }, Date.valueOf(today));
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            Totals row = totals.getOrDefault(key, new Totals(0, 0, BigDecimal.ZERO));
+            row.add(delta);
+            Long id = ids.get(key);
+            if (row.items <= 0) {
+                if (id != null) {
+                    deletes.add(new Object[]{id});
+                }
+            } else if (id == null) {
+                inserts.add(new Object[]{key.dimension().name(), Date.valueOf(today), key.name(),
+                        row.items, row.quantity, row.value});
+            } else {
+                updates.add(new Object[]{row.items, row.quantity, row.value, id});
+            }
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO sku_rollups (dimension, rollup_day, name, items, quantity, total_value) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", inserts);
+        jdbcTemplate.batchUpdate("UPDATE sku_rollups SET items = ?, quantity = ?, total_value = ? WHERE id = ?", updates);
+        jdbcTemplate.batchUpdate("DELETE FROM sku_rollups WHERE id = ?", deletes);
+    }
+
+    private static void add(Map<GroupKey, Totals> deltas, Contribution contribution, int sign) {
+        long quantity = contribution.quantity() == null ? 0 : contribution.quantity();
+        BigDecimal value = contribution.price() == null ? BigDecimal.ZERO
+                : BigDecimal.valueOf(contribution.price()).multiply(BigDecimal.valueOf(quantity));
+        Totals delta = new Totals(sign, sign * quantity, sign > 0 ? value : value.negate());
+        deltas.computeIfAbsent(new GroupKey(RollupDimension.CATEGORY, groupName(contribution.category())),
+                key -> new Totals(0, 0, BigDecimal.ZERO)).add(delta);
+        deltas.computeIfAbsent(new GroupKey(RollupDimension.SUPPLIER, groupName(contribution.supplier())),
+                key -> new Totals(0, 0, BigDecimal.ZERO)).add(delta);
+    }
+
+    private static String groupName(String name) {
+        return name == null ? NONE : name;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private record Contribution(long skuId, String category, String supplier, Integer quantity, Double price) {
+    }
+
+    private record GroupKey(RollupDimension dimension, String name) {
+    }
+
+    private record RunResult(boolean full, int changed, int deleted) {
+    }
+
+    private static class Totals {
+
+        private long items;
+        private long quantity;
+        private BigDecimal value;
+
+        Totals(long items, long quantity, BigDecimal value) {
+            this.items = items;
+            this.quantity = quantity;
+            this.value = value;
+        }
+
+        void add(Totals delta) {
+            items += delta.items;
+            quantity += delta.quantity;
+            value = value.add(delta.value);
+        }
+    }
+}
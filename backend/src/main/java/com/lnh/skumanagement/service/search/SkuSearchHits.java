@@ -0,0 +1,19 @@
+package com.lnh.skumanagement.service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SkuSearchHits {
+
+    /**
+     * SKU ids of the requested page, best match first.
+     */
+    private final List<Long> ids;
+
+    private final int total;
+
+}
@@ -0,0 +1,417 @@
+package com.lnh.skumanagement.service.search;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram index over the searchable SKU columns.
+ * <p>
+ * Terms of three or more characters are resolved by intersecting the posting lists of their
+ * trigrams and verifying the surviving candidates; shorter terms scan the in-memory documents.
+ * Either way the database is not touched. The index is rebuilt by {@link SkuSearchIndexLoader}
+ * and kept current between rebuilds from {@link SkuChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class SkuSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * Ranking weight per field, in the order produced by {@link #fieldsOf(Sku)}.
+     */
+    private static final int[] FIELD_WEIGHTS = {5, 4, 3, 2, 1};
+
+    private static final int COMPACTION_THRESHOLD = 10_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Held while the source streams rows from the database, which must not happen inside a monitor
+     * when running on virtual threads.
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private Segment segment;
+
+    /**
+     * Changes received while a rebuild is loading, replayed onto the new segment before it is swapped in.
+     */
+    private List<Consumer<Segment>> pendingChanges;
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return segment != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment == null ? 0 : segment.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SkuSearchHits search(String term, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
+        }
+        String needle = normalize(term);
+        lock.readLock().lock();
+        try {
+            if (segment == null) {
+                throw new IllegalStateException("SKU search index is not loaded yet");
+            }
+            TopMatches matches = new TopMatches((int) Math.min((long) offset + limit, segment.liveCount));
+            segment.match(needle, matches);
+            long[] ranked = matches.sorted();
+            List<Long> ids = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                ids.add(segment.ids[(int) ranked[i]]);
+            }
+            return new SkuSearchHits(ids, matches.total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Sku sku) {
+        long id = sku.getId();
+        String[] fields = fieldsOf(sku);
+        apply(segment -> segment.upsert(id, fields));
+    }
+
+    public void remove(Long id) {
+        apply(segment -> segment.remove(id));
+    }
+
+    /**
+     * Replaces the index with the documents produced by {@code source}. Changes that arrive while
+     * the source is being read are applied to both the current and the new segment.
+     */
+    public void rebuild(Consumer<Consumer<Sku>> source) {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Segment next = new Segment();
+            try {
+                source.accept(sku -> next.upsert(sku.getId(), fieldsOf(sku)));
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(next));
+                pendingChanges = null;
+                segment = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSkuChanged(SkuChangedEvent event) {
+        if (event.getType() == SkuChangedEvent.Type.DELETED) {
+            remove(event.getPrevious().getId());
+        } else {
+            index(event.getCurrent());
+        }
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (segment != null) {
+                change.accept(segment);
+                if (segment.deadCount() > COMPACTION_THRESHOLD && segment.deadCount() > segment.liveCount / 4) {
+                    segment = segment.compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String[] fieldsOf(Sku sku) {
+        return new String[]{
+                normalize(sku.getSkuCode()),
+                normalize(sku.getName()),
+                normalize(sku.getStyleName()),
+                normalize(sku.getCategory()),
+                normalize(sku.getColour())
+        };
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String value, int at) {
+        return ((long) value.charAt(at) << 32) | ((long) value.charAt(at + 1) << 16) | value.charAt(at + 2);
+    }
+
+    /**
+     * Scores how well {@code needle} matches a document: exact field matches beat prefixes,
+     * prefixes beat word starts, and word starts beat infixes. Zero means no match.
+     */
+    private static int score(String[] fields, String needle) {
+        int score = 0;
+        for (int f = 0; f < fields.length; f++) {
+            String value = fields[f];
+            if (value == null) {
+                continue;
+            }
+            int at = value.indexOf(needle);
+            if (at < 0) {
+                continue;
+            }
+            int quality;
+            if (at == 0) {
+                quality = value.length() == needle.length() ? 8 : 4;
+            } else {
+                quality = Character.isLetterOrDigit(value.charAt(at - 1)) ? 1 : 2;
+            }
+            score += FIELD_WEIGHTS[f] * quality;
+        }
+        return score;
+    }
+
+    /**
+     * Packs a score and ordinal so that an ascending sort yields best score first, then insertion order.
+     */
+    private static long rankKey(int score, int ordinal) {
+        return ((long) (Integer.MAX_VALUE - score) << 32) | ordinal;
+    }
+
+    private static final class Segment {
+
+        private long[] ids = new long[1024];
+        private String[][] fields = new String[1024][];
+        private final BitSet live = new BitSet();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private int size;
+        private int liveCount;
+
+        void upsert(long id, String[] docFields) {
+            remove(id);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            fields[ordinal] = docFields;
+            live.set(ordinal);
+            liveCount++;
+            ordinals.put(id, ordinal);
+            for (String value : docFields) {
+                if (value == null) {
+                    continue;
+                }
+                for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                    postings.computeIfAbsent(gram(value, i), k -> new Postings()).add(ordinal);
+                }
+            }
+        }
+
+        void remove(long id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                live.clear(ordinal);
+                fields[ordinal] = null;
+                liveCount--;
+            }
+        }
+
+        int deadCount() {
+            return size - liveCount;
+        }
+
+        Segment compact() {
+            Segment compacted = new Segment();
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                compacted.upsert(ids[ordinal], fields[ordinal]);
+            }
+            return compacted;
+        }
+
+        void match(String needle, TopMatches matches) {
+            if (needle.length() < GRAM_LENGTH) {
+                for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                    matches.offer(score(fields[ordinal], needle), ordinal);
+                }
+                return;
+            }
+
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= needle.length(); i++) {
+                Postings list = postings.get(gram(needle, i));
+                if (list == null) {
+                    return;
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+            // Candidates ascend, so each other list is walked once with a forward-only cursor
+            int[] cursors = new int[lists.size()];
+
+            candidates:
+            for (int i = 0; i < shortest.size; i++) {
+                int ordinal = shortest.ordinals[i];
+                if (!live.get(ordinal)) {
+                    continue;
+                }
+                for (int l = 1; l < lists.size(); l++) {
+                    Postings other = lists.get(l);
+                    cursors[l] = other.advance(cursors[l], ordinal);
+                    if (cursors[l] == other.size) {
+                        break candidates;
+                    }
+                    if (other.ordinals[cursors[l]] != ordinal) {
+                        continue candidates;
+                    }
+                }
+                matches.offer(score(fields[ordinal], needle), ordinal);
+            }
+        }
+    }
+
+    /**
+     * Counts every match but keeps only the best {@code capacity} rank keys, in a max-heap on the
+     * key, so that broad terms cost O(matches * log(page end)) instead of a full sort.
+     */
+    private static final class TopMatches {
+
+        private final long[] heap;
+        private int size;
+        private int total;
+
+        TopMatches(int capacity) {
+            this.heap = new long[Math.max(0, capacity)];
+        }
+
+        void offer(int score, int ordinal) {
+            if (score <= 0) {
+                return;
+            }
+            total++;
+            long key = rankKey(score, ordinal);
+            if (size < heap.length) {
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (heap[parent] >= key) {
+                        break;
+                    }
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = key;
+            } else if (size > 0 && key < heap[0]) {
+                int parent = 0;
+                while (true) {
+                    int child = 2 * parent + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && heap[child + 1] > heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] <= key) {
+                        break;
+                    }
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = key;
+            }
+        }
+
+        long[] sorted() {
+            long[] ranked = Arrays.copyOf(heap, size);
+            Arrays.sort(ranked);
+            for (int i = 0; i < ranked.length; i++) {
+                ranked[i] &= 0xFFFFFFFFL;
+            }
+            return ranked;
+        }
+    }
+
+    /**
+     * Ascending list of document ordinals containing one trigram.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            // Ordinals only grow, so a repeated gram within one document is always the last entry
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        /**
+         * @return the first index at or after {@code from} whose ordinal is not below {@code ordinal},
+         * or {@code size} if there is none; gallops so that long skips stay logarithmic
+         */
+        int advance(int from, int ordinal) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && ordinals[high] < ordinal) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            int found = Arrays.binarySearch(ordinals, low, high, ordinal);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lnh.skumanagement.service.search;
+
+import com.lnh.skumanagement.service.SkuService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the search index at startup and reloads it periodically so that writes made by other
+ * instances of the service are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkuSearchIndexLoader {
+
+    private final SkuService skuService;
+    private final SkuSearchIndex skuSearchIndex;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.lnh.search.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            skuSearchIndex.rebuild(skuService::streamAllSkus);
+            log.info("SKU search index loaded with {} entries in {} ms",
+                    skuSearchIndex.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Failed to load SKU search index", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lnh.skumanagement.service.snapshot;
+
+import com.lnh.skumanagement.event.SkuChangedEvent;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.SkuRepository;
+import com.lnh.skumanagement.repository.projection.SkuVersion;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Reloads an in-memory view from the database without losing or double-counting the changes that
+ * commit while the query runs.
+ * <p>
+ * Change events arrive after commit, so an event received during the query may or may not be in its
+ * result. The query therefore runs in a repeatable-read transaction that also reads the version each
+ * changed SKU had in the same snapshot; only events newer than that version are replayed.
+ */
+@Component
+public class SkuSnapshotLoader {
+
+    private static final long ABSENT = -1;
+    private static final int VERSION_BATCH_SIZE = 1000;
+
+    private final SkuRepository skuRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SkuSnapshotLoader(SkuRepository skuRepository, PlatformTransactionManager transactionManager) {
+        this.skuRepository = skuRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Runs {@code query}, then calls {@code install} holding {@code monitor} with its result and the
+     * changes from {@code pendingChanges} that the result does not include yet. {@code pendingChanges}
+     * is read under {@code monitor}, which the view's event listener must hold while appending to it.
+     */
+    public <T> void load(Object monitor, Supplier<List<SkuChangedEvent>> pendingChanges, Supplier<T> query,
+                         BiConsumer<T, List<SkuChangedEvent>> install) {
+        transactionTemplate.executeWithoutResult(status -> {
+            T loaded = query.get();
+            Map<Long, Long> versions = new HashMap<>();
+            while (true) {
+                Set<Long> unresolved = new HashSet<>();
+                synchronized (monitor) {
+                    List<SkuChangedEvent> changes = pendingChanges.get();
+                    for (SkuChangedEvent change : changes) {
+                        Long id = skuOf(change).getId();
+                        if (!versions.containsKey(id)) {
+                            unresolved.add(id);
+                        }
+                    }
+                    if (unresolved.isEmpty()) {
+                        install.accept(loaded, unseen(changes, versions));
+                        return;
+                    }
+                }
+                // Outside the monitor: listeners keep queueing while the versions are read
+                readVersions(unresolved, versions);
+            }
+        });
+    }
+
+    private void readVersions(Set<Long> ids, Map<Long, Long> versions) {
+        List<Long> batch = new ArrayList<>(Math.min(ids.size(), VERSION_BATCH_SIZE));
+        for (Long id : ids) {
+            versions.put(id, ABSENT);
+            batch.add(id);
+            if (batch.size() == VERSION_BATCH_SIZE) {
+                skuRepository.findVersions(batch).forEach(version -> versions.put(version.getId(), version.getVersion()));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            skuRepository.findVersions(batch).forEach(version -> versions.put(version.getId(), version.getVersion()));
+        }
+    }
+
+    /**
+     * A change is in the snapshot when the SKU was there at the change's version or later. A SKU missing
+     * from the snapshot was either created after it, so all its changes are new, or deleted before it,
+     * so none are; a pending delete tells the two apart, and when both happened during the query
+     * skipping everything nets out the same as replaying it.
+     */
+    private static List<SkuChangedEvent> unseen(List<SkuChangedEvent> changes, Map<Long, Long> versions) {
+        Set<Long> deleted = new HashSet<>();
+        for (SkuChangedEvent change : changes) {
+            if (change.getCurrent() == null) {
+                deleted.add(change.getPrevious().getId());
+            }
+        }
+        List<SkuChangedEvent> unseen = new ArrayList<>();
+        for (SkuChangedEvent change : changes) {
+            Long id = skuOf(change).getId();
+            long version = versions.get(id);
+            boolean seen = version == ABSENT
+                    ? deleted.contains(id)
+                    : change.getCurrent() != null && change.getCurrent().getVersion() <= version;
+            if (!seen) {
+                unseen.add(change);
+            }
+        }
+        return unseen;
+    }
+
+    private static Sku skuOf(SkuChangedEvent change) {
+        return change.getCurrent() != null ? change.getCurrent() : change.getPrevious();
+    }
+}
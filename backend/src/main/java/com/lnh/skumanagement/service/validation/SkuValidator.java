@@ -0,0 +1,72 @@
+package com.lnh.skumanagement.service.validation;
+
+import com.lnh.skumanagement.exception.BadRequestException;
+import com.lnh.skumanagement.model.Sku;
+import com.lnh.skumanagement.repository.entity.SkuEntity;
+import com.lnh.skumanagement.repository.mapper.SkuEntityMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.ElementType;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks a SKU against the constraints on {@link SkuEntity}. Bean Validation would otherwise only run
+ * when Hibernate persists an entity, which the JDBC inserts and the conditional update all bypass.
+ */
+@Component
+@RequiredArgsConstructor
+public class SkuValidator {
+
+    private final SkuEntityMapper skuEntityMapper;
+    // The entities checked here are transient, so skip the JPA lazy-load check the default validator runs per property
+    private final Validator validator = Validation.byDefaultProvider().configure()
+            .traversableResolver(new TransientTraversableResolver())
+            .buildValidatorFactory()
+            .getValidator();
+
+    /**
+     * Throws {@link BadRequestException} listing every violated constraint.
+     */
+    public void validate(Sku sku) {
+        String violations = violations(sku);
+        if (violations != null) {
+            throw new BadRequestException(violations);
+        }
+    }
+
+    /**
+     * The violated constraints' messages joined with {@code "; "}, or null when the SKU is valid.
+     */
+    public String violations(Sku sku) {
+        Set<ConstraintViolation<SkuEntity>> violations = validator.validate(skuEntityMapper.toSkuEntity(sku));
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static class TransientTraversableResolver implements TraversableResolver {
+
+        @Override
+        public boolean isReachable(Object traversableObject, Path.Node traversableProperty, Class<?> rootBeanType,
+                                   Path pathToTraversableObject, ElementType elementType) {
+            return true;
+        }
+
+        @Override
+        public boolean isCascadable(Object traversableObject, Path.Node traversableProperty, Class<?> rootBeanType,
+                                    Path pathToTraversableObject, ElementType elementType) {
+            return true;
+        }
+    }
+}
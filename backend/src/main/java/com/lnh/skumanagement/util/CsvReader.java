@@ -0,0 +1,81 @@
+package com.lnh.skumanagement.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, double-quote escaping, quoted fields may span lines.
+ * Reads one record at a time so large uploads are never held in memory as a whole.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int peeked = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the next record, or null at end of input
+     */
+    public String[] next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                values.add(field.toString());
+                return values.toArray(new String[0]);
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,122 @@
+package com.lnh.skumanagement.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal RFC 4180 writer, the counterpart of {@link CsvReader}: CRLF record separators, and fields
+ * quoted only when they contain a comma, quote, line break or surrounding whitespace. Fields are
+ * written one at a time so a record never has to be assembled first. Text that a spreadsheet would
+ * run as a formula is neutralized (CSV injection); {@link #unguard} undoes that when an export is
+ * imported again.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes a text field. One that starts with {@code =}, {@code +}, {@code -}, {@code @}, tab or
+     * carriage return is prefixed with {@code '}, so a spreadsheet opening the file shows it as text
+     * instead of evaluating it as a formula. Text that already looks guarded gets a second {@code '},
+     * so that {@link #unguard} gives back exactly what was written.
+     */
+    public CsvWriter field(String value) throws IOException {
+        separate();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        write(isGuarded(value) || isFormula(value) ? "'" + value : value);
+        return this;
+    }
+
+    /**
+     * Removes the {@code '} that {@link #field(String)} put in front of formula-like text; any other
+     * value is returned unchanged.
+     */
+    public static String unguard(String value) {
+        return value != null && isGuarded(value) ? value.substring(1) : value;
+    }
+
+    /**
+     * Writes numbers as they are, so negative values stay numeric; anything else as text.
+     */
+    public CsvWriter field(Object value) throws IOException {
+        if (value instanceof Number) {
+            separate();
+            write(value.toString());
+            return this;
+        }
+        return field(value == null ? null : value.toString());
+    }
+
+    public void endRecord() throws IOException {
+        writer.write("\r\n");
+        firstField = true;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void separate() throws IOException {
+        if (!firstField) {
+            writer.write(',');
+        }
+        firstField = false;
+    }
+
+    private void write(String value) throws IOException {
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    /**
+     * One or more {@code '} followed by formula-like text.
+     */
+    private static boolean isGuarded(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) == '\'') {
+            start++;
+        }
+        return start > 0 && start < value.length() && isFormula(value.charAt(start));
+    }
+
+    private static boolean isFormula(String value) {
+        return isFormula(value.charAt(0));
+    }
+
+    private static boolean isFormula(char first) {
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private static boolean needsQuoting(String value) {
+        if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,25 +2,90 @@ package com.lnh.skumanagement.util;
 
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Title-cases each word and collapses whitespace to single spaces, e.g. {@code "  bed  LINEN "} becomes
+ * {@code "Bed Linen"}. Case mapping is per code point and independent of the default locale; any Unicode
+ * whitespace or space separator (including no-break space) separates words.
+ */
 @Component
 public class SmartCapitalize {
 
     public String smartCapitalize(String input) {
-        if (input == null || input.trim().isEmpty()) {
+        if (input == null || isNormalized(input)) {
             return input;
         }
 
-        String[] words = input.trim().split("\\s+");
-        StringBuilder result = new StringBuilder();
+        int length = input.length();
+        StringBuilder result = null;
+        boolean wordStart = true;
+        for (int i = 0; i < length; ) {
+            int codePoint = input.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isSeparator(codePoint)) {
+                wordStart = true;
+                continue;
+            }
+            if (result == null) {
+                result = new StringBuilder(length);
+            } else if (wordStart) {
+                result.append(' ');
+            }
+            result.appendCodePoint(wordStart ? Character.toTitleCase(codePoint) : Character.toLowerCase(codePoint));
+            wordStart = false;
+        }
+        // Blank input is returned as it was
+        return result == null ? input : result.toString();
+    }
+
+    /**
+     * Normalizes one column of a batch in place. Equal values are normalized once and end up sharing
+     * a single instance, which suits low-cardinality columns such as category, colour and size.
+     */
+    public <T> void smartCapitalizeAll(List<T> items, Function<T, String> getter, BiConsumer<T, String> setter) {
+        Map<String, String> normalized = new HashMap<>();
+        for (T item : items) {
+            String value = getter.apply(item);
+            if (value != null) {
+                setter.accept(item, normalized.computeIfAbsent(value, this::smartCapitalize));
+            }
+        }
+    }
 
-        for (String word : words) {
-            if (!word.isEmpty()) {
-                result.append(
-                        word.substring(0, 1).toUpperCase()
-                                + word.substring(1).toLowerCase()
-                ).append(" ");
+    private boolean isNormalized(String input) {
+        int length = input.length();
+        if (length == 0) {
+            return false;
+        }
+        boolean wordStart = true;
+        for (int i = 0; i < length; ) {
+            int codePoint = input.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == ' ') {
+                // Exactly one space, and only between words
+                if (wordStart || i == length) {
+                    return false;
+                }
+                wordStart = true;
+            } else if (isSeparator(codePoint)) {
+                return false;
+            } else {
+                int expected = wordStart ? Character.toTitleCase(codePoint) : Character.toLowerCase(codePoint);
+                if (codePoint != expected) {
+                    return false;
+                }
+                wordStart = false;
             }
         }
-        return result.toString().trim();
+        return true;
+    }
+
+    private static boolean isSeparator(int codePoint) {
+        return Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint);
     }
 }
@@ -0,0 +1,46 @@
+package com.lnh.skumanagement.util;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+/**
+ * Tells unique-key violations apart from the other integrity violations (NOT NULL, column length,
+ * check constraints), which Hibernate reports as the same {@code DataIntegrityViolationException}.
+ * NOT NULL violations can be told apart too, for callers that report them separately.
+ */
+public final class UniqueViolations {
+
+    // SQL standard state, used by PostgreSQL and H2
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    // MySQL reports every integrity violation as 23000; the vendor code identifies duplicates
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final String NOT_NULL_VIOLATION_STATE = "23502";
+    private static final int MYSQL_BAD_NULL = 1048;
+
+    private UniqueViolations() {
+    }
+
+    public static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException) {
+                return UNIQUE_VIOLATION_STATE.equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isNotNullViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return NOT_NULL_VIOLATION_STATE.equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == MYSQL_BAD_NULL;
+            }
+        }
+        return false;
+    }
+}
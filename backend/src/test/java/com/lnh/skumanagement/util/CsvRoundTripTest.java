@@ -0,0 +1,36 @@
+package com.lnh.skumanagement.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRoundTripTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"=SUM(A1:A9)", "+44 20 7946", "-SHIRT-01", "@home", "'=already guarded", "''-twice",
+            "'quoted", "plain", "a,b", "say \"hi\"", "two\r\nlines", "\tindented"})
+    void readsBackWhatWasWritten(String value) throws IOException {
+        assertThat(roundTrip(value)).isEqualTo(value);
+    }
+
+    @Test
+    void leavesUnguardedValuesAlone() {
+        assertThat(CsvWriter.unguard("'quoted")).isEqualTo("'quoted");
+        assertThat(CsvWriter.unguard("'")).isEqualTo("'");
+        assertThat(CsvWriter.unguard(null)).isNull();
+    }
+
+    private static String roundTrip(String value) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).field(value).field("next").endRecord();
+        String[] record = new CsvReader(new StringReader(out.toString())).next();
+        assertThat(record).hasSize(2).endsWith("next");
+        return CsvWriter.unguard(record[0]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.lnh.skumanagement.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"=SUM(A1:A9)", "+1+1", "-2+3", "@SUM(A1)"})
+    void prefixesFormulaText(String value) throws IOException {
+        assertThat(row(value)).isEqualTo("'" + value + "\r\n");
+    }
+
+    @Test
+    void prefixesBeforeQuoting() throws IOException {
+        assertThat(row("=HYPERLINK(\"http://example.com\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://example.com\"\")\"\r\n");
+    }
+
+    @Test
+    void prefixesLeadingTabAndCarriageReturnInsideQuotes() throws IOException {
+        assertThat(row("\tcmd")).isEqualTo("'\tcmd\r\n");
+        assertThat(row("\rcmd")).isEqualTo("\"'\rcmd\"\r\n");
+    }
+
+    @Test
+    void leavesNumbersAndOrdinaryTextAlone() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).field(-5).field(-1.5).field("Linen-Shirt").field("a-b").endRecord();
+        assertThat(out).hasToString("-5,-1.5,Linen-Shirt,a-b\r\n");
+    }
+
+    @Test
+    void writesNullAndEmptyAsEmptyFields() throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).field((String) null).field("").field((Object) null).endRecord();
+        assertThat(out).hasToString(",,\r\n");
+    }
+
+    private static String row(String value) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).field(value).endRecord();
+        return out.toString();
+    }
+}
@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react'
+import { useState, useEffect, useRef } from 'react'
 import axios from 'axios'
 import SkuForm from './components/SkuForm'
 import SkuTable from './components/SkuTable'
@@ -37,6 +37,13 @@ function App() {
   const [showDeleteModal, setShowDeleteModal] = useState(false)
   const [skuToDelete, setSkuToDelete] = useState(null)
 
+  // Server-sent change feed; keeps the list current without refetching it
+  const changeStream = useRef(null)
+
+  // Low-stock count comes from the server's alert index; threshold crossings are pushed
+  const [lowStockCount, setLowStockCount] = useState(0)
+  const alertStream = useRef(null)
+
   // Check authentication on mount
   useEffect(() => {
     const checkAuth = () => {
@@ -53,23 +60,37 @@ function App() {
     if (isAuthenticated) {
       loadSkus()
       loadCategories()
+      openAlertStream()
+    }
+    return () => {
+      closeChangeStream()
+      closeAlertStream()
     }
   }, [isAuthenticated])
 
+  useEffect(() => {
+    loadStyleNamesColoursAndSizes(skus)
+  }, [skus])
+
   useEffect(() => {
     filterSkus()
   }, [skus, searchTerm, selectedCategory, selectedStyleName, selectedColour, selectedSize])
 
   const loadSkus = async () => {
     try {
+      closeChangeStream()
+      // Take the feed version first so nothing committed during the full load is missed
+      const changes = await axios.get(`${API_ENDPOINT}/changes`, {
+        headers: authService.getAuthHeader()
+      })
       console.log('📡 Fetching SKUs from:', API_ENDPOINT)
       const response = await axios.get(API_ENDPOINT, {
         headers: authService.getAuthHeader()
       })
       console.log('✅ Received', response.data.length, 'SKUs')
       setSkus(response.data)
-      loadStyleNamesColoursAndSizes(response.data)
       setLoading(false)
+      openChangeStream(changes.data.version)
     } catch (error) {
       console.error('❌ Error loading SKUs:', error)
       console.error('Request URL was:', API_ENDPOINT)
@@ -80,6 +101,69 @@ function App() {
     }
   }
 
+  const openChangeStream = (since) => {
+    const params = new URLSearchParams({ since, access_token: authService.getToken() || '' })
+    const stream = new EventSource(`${API_ENDPOINT}/changes/stream?${params}`)
+    stream.addEventListener('sku-changes', (event) => {
+      applyChanges(JSON.parse(event.data).changes)
+      loadCategories()
+    })
+    // Too far behind to replay: start over from a full load
+    stream.addEventListener('reset', () => loadSkus())
+    changeStream.current = stream
+  }
+
+  const closeChangeStream = () => {
+    if (changeStream.current) {
+      changeStream.current.close()
+      changeStream.current = null
+    }
+  }
+
+  const applyChanges = (changes) => {
+    setSkus(current => {
+      const byId = new Map(current.map(sku => [sku.id, sku]))
+      changes.forEach(change => {
+        if (change.type === 'DELETED') {
+          byId.delete(change.id)
+        } else {
+          byId.set(change.id, change.sku)
+        }
+      })
+      return [...byId.values()]
+    })
+  }
+
+  // Subscribes before loading the count, so no crossing in between is missed
+  const openAlertStream = () => {
+    closeAlertStream()
+    const params = new URLSearchParams({ access_token: authService.getToken() || '' })
+    const stream = new EventSource(`${API_ENDPOINT}/alerts/stream?${params}`)
+    stream.addEventListener('low-stock', (event) => setLowStockCount(JSON.parse(event.data).total))
+    stream.addEventListener('reset', () => loadLowStockCount())
+    alertStream.current = stream
+    loadLowStockCount()
+  }
+
+  const closeAlertStream = () => {
+    if (alertStream.current) {
+      alertStream.current.close()
+      alertStream.current = null
+    }
+  }
+
+  const loadLowStockCount = async () => {
+    try {
+      const response = await axios.get(`${API_ENDPOINT}/alerts`, {
+        params: { limit: 0 },
+        headers: authService.getAuthHeader()
+      })
+      setLowStockCount(response.data.total)
+    } catch (error) {
+      console.error('Error loading low-stock alerts:', error)
+    }
+  }
+
   const loadCategories = async () => {
     try {
       const response = await axios.get(`${API_ENDPOINT}/categories`, {
@@ -119,6 +203,8 @@ function App() {
   }
 
   const handleLogout = () => {
+    closeChangeStream()
+    closeAlertStream()
     authService.removeToken()
     setIsAuthenticated(false)
     setSkus([])
@@ -202,19 +288,21 @@ function App() {
 
     try {
       await axios.delete(`${API_ENDPOINT}/${skuToDelete.id}`, {
-        headers: authService.getAuthHeader()
+        headers: { ...authService.getAuthHeader(), ...ifMatch(skuToDelete) }
       })
       
       // Close modal and clear state
       setShowDeleteModal(false)
       setSkuToDelete(null)
       
-      // Reload SKUs
-      loadSkus()
+      applyChanges([{ type: 'DELETED', id: skuToDelete.id }])
     } catch (error) {
       console.error('Error deleting SKU:', error)
       if (error.response?.status === 401) {
         handleLogout()
+      } else if (error.response?.status === 412) {
+        alert('This SKU was changed by someone else. The list has been refreshed; please try again.')
+        loadSkus()
       } else {
         alert('Failed to delete SKU')
       }
@@ -225,6 +313,9 @@ function App() {
     }
   }
 
+  // Makes a save or delete fail instead of overwriting a change the user has not seen
+  const ifMatch = (sku) => (sku?.version != null ? { 'If-Match': `"${sku.version}"` } : {})
+
   const cancelDelete = () => {
     setShowDeleteModal(false)
     setSkuToDelete(null)
@@ -232,23 +323,30 @@ function App() {
 
   const handleSaveSku = async (skuData) => {
     try {
+      let response
       if (editingSku) {
-        await axios.put(`${API_ENDPOINT}/${editingSku.id}`, skuData, {
-          headers: authService.getAuthHeader()
+        response = await axios.put(`${API_ENDPOINT}/${editingSku.id}`, skuData, {
+          headers: { ...authService.getAuthHeader(), ...ifMatch(editingSku) }
         })
       } else {
-        await axios.post(API_ENDPOINT, skuData, {
+        response = await axios.post(API_ENDPOINT, skuData, {
           headers: authService.getAuthHeader()
         })
       }
       setShowModal(false)
       setEditingSku(null)
-      loadSkus()
+      // The change stream delivers this too; applying it now avoids waiting for the next push
+      applyChanges([{ type: editingSku ? 'UPDATED' : 'CREATED', id: response.data.id, sku: response.data }])
       loadCategories()
     } catch (error) {
       console.error('Error saving SKU:', error)
       if (error.response?.status === 401) {
         handleLogout()
+      } else if (error.response?.status === 412) {
+        alert('This SKU was changed by someone else. The list has been refreshed; please review and save again.')
+        setShowModal(false)
+        setEditingSku(null)
+        loadSkus()
       } else if (error.response?.data?.message) {
         alert(error.response.data.message)
       } else {
@@ -260,9 +358,8 @@ function App() {
   const calculateStats = () => {
     const totalItems = skus.length
     const totalValue = skus.reduce((sum, sku) => sum + (sku.price * sku.quantity), 0)
-    const lowStock = skus.filter(sku => sku.quantity < 50).length
 
-    return { totalItems, totalValue, lowStock }
+    return { totalItems, totalValue, lowStock: lowStockCount }
   }
 
   const stats = calculateStats()
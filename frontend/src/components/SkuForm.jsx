@@ -9,6 +9,7 @@ function SkuForm({ sku, onSave, onClose }) {
     colour: '',
     size: '',  // NEW: Size field
     quantity: '',
+    reorderThreshold: '',
     price: '',
     category: '',
     supplier: ''
@@ -27,6 +28,7 @@ function SkuForm({ sku, onSave, onClose }) {
         colour: sku.colour || '',
         size: sku.size || '',  // NEW: Size from sku
         quantity: sku.quantity || '',
+        reorderThreshold: sku.reorderThreshold ?? '',
         price: sku.price || '',
         category: sku.category || '',
         supplier: sku.supplier || ''
@@ -54,6 +56,7 @@ function SkuForm({ sku, onSave, onClose }) {
     const skuData = {
       ...formData,
       quantity: parseInt(formData.quantity),
+      reorderThreshold: formData.reorderThreshold === '' ? null : parseInt(formData.reorderThreshold),
       price: parseFloat(formData.price)
     }
 
@@ -187,15 +190,29 @@ function SkuForm({ sku, onSave, onClose }) {
               </div>
             </div>
 
-            <div className="form-group">
-              <label>Supplier</label>
-              <input
-                type="text"
-                name="supplier"
-                value={formData.supplier}
-                onChange={handleChange}
-                placeholder="e.g., Fashion Hub Pvt Ltd, Garment Manufacturers"
-              />
+            <div className="form-row">
+              <div className="form-group">
+                <label>Supplier</label>
+                <input
+                  type="text"
+                  name="supplier"
+                  value={formData.supplier}
+                  onChange={handleChange}
+                  placeholder="e.g., Fashion Hub Pvt Ltd, Garment Manufacturers"
+                />
+              </div>
+
+              <div className="form-group">
+                <label>Reorder Threshold</label>
+                <input
+                  type="number"
+                  name="reorderThreshold"
+                  value={formData.reorderThreshold}
+                  onChange={handleChange}
+                  min="0"
+                  placeholder="Default (50)"
+                />
+              </div>
             </div>
           </div>
 
@@ -5,15 +5,18 @@ function SkuTable({ skus, onEdit, onDelete }) {
     return `category-${category.toLowerCase().replace(/\s+/g, '-').replace(/'/g, '')}`
   }
 
-  const getStockStatus = (quantity) => {
-    if (quantity < 50) return 'low'
-    if (quantity < 100) return 'medium'
+  // SKUs without their own reorder threshold use the server default of 50
+  const getStockStatus = (sku) => {
+    const threshold = sku.reorderThreshold ?? 50
+    if (sku.quantity < threshold) return 'low'
+    if (sku.quantity < threshold * 2) return 'medium'
     return 'high'
   }
 
-  const getStockText = (quantity) => {
-    if (quantity < 50) return 'Low Stock'
-    if (quantity < 100) return 'Medium'
+  const getStockText = (sku) => {
+    const status = getStockStatus(sku)
+    if (status === 'low') return 'Low Stock'
+    if (status === 'medium') return 'Medium'
     return 'In Stock'
   }
 
@@ -83,11 +86,11 @@ function SkuTable({ skus, onEdit, onDelete }) {
               </td>
               <td>
                 <div className="stock-status">
-                  <span className={`stock-indicator stock-${getStockStatus(sku.quantity)}`}></span>
+                  <span className={`stock-indicator stock-${getStockStatus(sku)}`}></span>
                   <div>
                     <div style={{ fontWeight: 600 }}>{sku.quantity}</div>
                     <div style={{ fontSize: '0.75rem', color: 'var(--color-text-secondary)' }}>
-                      {getStockText(sku.quantity)}
+                      {getStockText(sku)}
                     </div>
                   </div>
                 </div>
@@ -169,11 +172,11 @@ function SkuTable({ skus, onEdit, onDelete }) {
               <div className="sku-card-row">
                 <span className="sku-card-label">Quantity</span>
                 <div className="stock-status">
-                  <span className={`stock-indicator stock-${getStockStatus(sku.quantity)}`}></span>
+                  <span className={`stock-indicator stock-${getStockStatus(sku)}`}></span>
                   <div>
                     <div style={{ fontWeight: 600 }}>{sku.quantity}</div>
                     <div style={{ fontSize: '0.75rem', color: 'var(--color-text-secondary)' }}>
-                      {getStockText(sku.quantity)}
+                      {getStockText(sku)}
                     </div>
                   </div>
                 </div>